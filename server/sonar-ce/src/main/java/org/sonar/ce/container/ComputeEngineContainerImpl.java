@@ -77,6 +77,7 @@ import org.sonar.server.debt.DebtRulesXMLImporter;
 import org.sonar.server.event.NewAlerts;
 import org.sonar.server.issue.IssueUpdater;
 import org.sonar.server.issue.index.IssueAuthorizationIndexer;
+import org.sonar.server.issue.index.IssueFacetsCache;
 import org.sonar.server.issue.index.IssueIndex;
 import org.sonar.server.issue.index.IssueIndexer;
 import org.sonar.server.issue.notification.ChangesOnMyIssueNotificationDispatcher;
@@ -173,6 +174,7 @@ public class ComputeEngineContainerImpl implements ComputeEngineContainer {
 
     // issues
     IssueIndex.class,
+    IssueFacetsCache.class,
 
     // Classes kept for backward compatibility of plugins/libs (like sonar-license) that are directly calling classes from the core
     // org.sonar.core.properties.PropertiesDao.class, replaced by ReadOnlyPropertiesDao (declared above) which is a ReadOnly implementation
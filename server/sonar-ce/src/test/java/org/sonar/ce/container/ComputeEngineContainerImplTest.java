@@ -99,7 +99,7 @@ public class ComputeEngineContainerImplTest {
     );
     assertThat(picoContainer.getParent().getParent().getParent().getComponentAdapters()).hasSize(
       COMPONENTS_IN_LEVEL_1_AT_CONSTRUCTION
-        + 22 // level 1
+        + 23 // level 1
         + 46 // content of DaoModule
         + 1 // content of EsSearchModule
         + 55 // content of CorePropertyDefinitions
@@ -127,7 +127,8 @@ class TomcatConnectors {
   private static void configureCompression(Connector connector) {
     connector.setProperty("compression", "on");
     connector.setProperty("compressionMinSize", "1024");
-    connector.setProperty("compressableMimeType", "text/html,text/xml,text/plain,text/css,application/json,application/javascript");
+    // protobuf streams, for example the issues downloaded by scanner in issues mode, are large and compress well
+    connector.setProperty("compressableMimeType", "text/html,text/xml,text/plain,text/css,application/json,application/javascript,application/x-protobuf");
   }
 
   private static void setConnectorAttribute(Connector c, String key, @Nullable Object value) {
@@ -23,9 +23,10 @@ import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Parser;
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.NoSuchElementException;
@@ -170,7 +171,7 @@ public class BatchReportReaderImpl implements BatchReportReader {
     }
 
     try {
-      return new ParserCloseableIterator<>(ScannerReport.Test.parser(), FileUtils.openInputStream(file));
+      return new ParserCloseableIterator<>(ScannerReport.Test.parser(), new BufferedInputStream(FileUtils.openInputStream(file)));
     } catch (IOException e) {
       Throwables.propagate(e);
       // actually never reached
@@ -186,7 +187,7 @@ public class BatchReportReaderImpl implements BatchReportReader {
     }
 
     try {
-      return new ParserCloseableIterator<>(ScannerReport.CoverageDetail.parser(), FileUtils.openInputStream(file));
+      return new ParserCloseableIterator<>(ScannerReport.CoverageDetail.parser(), new BufferedInputStream(FileUtils.openInputStream(file)));
     } catch (IOException e) {
       Throwables.propagate(e);
       // actually never reached
@@ -196,9 +197,9 @@ public class BatchReportReaderImpl implements BatchReportReader {
 
   private static class ParserCloseableIterator<T> extends CloseableIterator<T> {
     private final Parser<T> parser;
-    private final FileInputStream fileInputStream;
+    private final InputStream fileInputStream;
 
-    public ParserCloseableIterator(Parser<T> parser, FileInputStream fileInputStream) {
+    public ParserCloseableIterator(Parser<T> parser, InputStream fileInputStream) {
       this.parser = parser;
       this.fileInputStream = fileInputStream;
     }
@@ -19,23 +19,55 @@
  */
 package org.sonar.server.computation.component;
 
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkState;
 import static org.sonar.server.computation.component.ComponentFunctions.toReportRef;
 
 /**
- * Cache of persisted component (component id and snapshot id) that can be used in the persistence steps
+ * Cache of persisted component (component id and snapshot id) that can be used in the persistence steps.
+ * <p/>
+ * Component ids are stored in an array indexed by the ref of the component in the report.
  */
 public class DbIdsRepositoryImpl implements MutableDbIdsRepository {
 
+  private static final long NO_ID = -1L;
+  private static final int INITIAL_CAPACITY = 1_024;
+
   private final MapBasedDbIdsRepository<Integer> delegate = new MapBasedDbIdsRepository<>(toReportRef());
+  private long[] componentIdsByRef = newIds(INITIAL_CAPACITY);
 
   @Override
   public DbIdsRepository setComponentId(Component component, long componentId) {
-    return delegate.setComponentId(component, componentId);
+    int ref = component.getReportAttributes().getRef();
+    ensureCapacity(ref);
+    long existingComponentId = componentIdsByRef[ref];
+    checkState(existingComponentId == NO_ID,
+      "Component id '%s' is already registered in repository for Component '%s', can not set new id '%s'", existingComponentId, component.getKey(), componentId);
+    componentIdsByRef[ref] = componentId;
+    return this;
   }
 
   @Override
   public long getComponentId(Component component) {
-    return delegate.getComponentId(component);
+    int ref = component.getReportAttributes().getRef();
+    long componentId = ref < componentIdsByRef.length ? componentIdsByRef[ref] : NO_ID;
+    checkState(componentId != NO_ID, "No component id registered in repository for Component '%s'", component.getKey());
+    return componentId;
+  }
+
+  private void ensureCapacity(int ref) {
+    if (ref >= componentIdsByRef.length) {
+      long[] ids = newIds(Math.max(ref + 1, componentIdsByRef.length * 2));
+      System.arraycopy(componentIdsByRef, 0, ids, 0, componentIdsByRef.length);
+      componentIdsByRef = ids;
+    }
+  }
+
+  private static long[] newIds(int size) {
+    long[] ids = new long[size];
+    Arrays.fill(ids, NO_ID);
+    return ids;
   }
 
   @Override
@@ -20,6 +20,8 @@
 package org.sonar.server.computation.component;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.CheckForNull;
 
@@ -32,8 +34,12 @@ import static org.sonar.server.computation.component.ComponentVisitor.Order.POST
  * Holds the reference to the root of the {@link Component} tree for the current CE run.
  */
 public class TreeRootHolderImpl implements MutableTreeRootHolder {
+  /**
+   * Components indexed by their ref in the report. Refs are sequential integers starting at 1, so an array
+   * is much more compact than a map on projects with many files.
+   */
   @CheckForNull
-  private Map<Integer, Component> componentsByRef;
+  private Component[] componentsByRef;
   @CheckForNull
   private Map<String, Component> componentsByKey;
 
@@ -56,7 +62,7 @@ public class TreeRootHolderImpl implements MutableTreeRootHolder {
   public Component getComponentByRef(int ref) {
     checkInitialized();
     ensureComponentByRefIsPopulated();
-    Component component = componentsByRef.get(ref);
+    Component component = ref >= 0 && ref < componentsByRef.length ? componentsByRef[ref] : null;
     checkArgument(component != null, "Component with ref '%s' can't be found", ref);
     return component;
   }
@@ -66,15 +72,26 @@ public class TreeRootHolderImpl implements MutableTreeRootHolder {
       return;
     }
 
-    final ImmutableMap.Builder<Integer, Component> builder = ImmutableMap.builder();
+    final List<Component> components = new ArrayList<>();
     new DepthTraversalTypeAwareCrawler(
       new TypeAwareVisitorAdapter(CrawlerDepthLimit.FILE, POST_ORDER) {
         @Override
         public void visitAny(Component component) {
-          builder.put(component.getReportAttributes().getRef(), component);
+          components.add(component);
         }
       }).visit(this.root);
-    this.componentsByRef = builder.build();
+
+    int maxRef = 0;
+    for (Component component : components) {
+      maxRef = Math.max(maxRef, component.getReportAttributes().getRef());
+    }
+    Component[] byRef = new Component[maxRef + 1];
+    for (Component component : components) {
+      int ref = component.getReportAttributes().getRef();
+      checkState(byRef[ref] == null, "Ref '%s' is shared by several components", ref);
+      byRef[ref] = component;
+    }
+    this.componentsByRef = byRef;
   }
 
   @Override
@@ -20,6 +20,8 @@
 package org.sonar.server.computation.qualitygate;
 
 import com.google.common.base.Optional;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import javax.annotation.CheckForNull;
 import org.apache.commons.lang.StringUtils;
 import org.sonar.server.computation.measure.Measure;
@@ -29,10 +31,20 @@ import org.sonar.server.computation.metric.Metric;
 import static com.google.common.base.Optional.of;
 import static com.google.common.base.Preconditions.checkArgument;
 
+/**
+ * Evaluates conditions of a Quality Gate. Thresholds of conditions are parsed once and then reused
+ * by the following evaluations of the same {@link Condition} instance.
+ * <p/>
+ * This class is not thread-safe.
+ */
 public final class ConditionEvaluator {
 
   private static final Optional<Double> NO_PERIOD_VALUE = Optional.absent();
 
+  // conditions are compared by identity as Condition#equals does not take thresholds into account
+  private final Map<Condition, Comparable> errorThresholds = new IdentityHashMap<>();
+  private final Map<Condition, Comparable> warningThresholds = new IdentityHashMap<>();
+
   /**
    * Evaluates the condition for the specified measure
    */
@@ -49,18 +61,34 @@ public final class ConditionEvaluator {
       .or(new EvaluationResult(Measure.Level.OK, measureComparable));
   }
 
-  private static Optional<EvaluationResult> evaluateCondition(Condition condition, Comparable<?> measureComparable, Measure.Level alertLevel) {
+  private Optional<EvaluationResult> evaluateCondition(Condition condition, Comparable<?> measureComparable, Measure.Level alertLevel) {
+    Comparable conditionComparable = getThreshold(condition, alertLevel);
+    if (conditionComparable != null && doesReachThresholds(measureComparable, conditionComparable, condition)) {
+      return of(new EvaluationResult(alertLevel, measureComparable));
+    }
+    return Optional.absent();
+  }
+
+  @CheckForNull
+  private Comparable getThreshold(Condition condition, Measure.Level alertLevel) {
+    Map<Condition, Comparable> thresholds = alertLevel.equals(Measure.Level.ERROR) ? errorThresholds : warningThresholds;
+    if (thresholds.containsKey(condition)) {
+      return thresholds.get(condition);
+    }
+    Comparable threshold = parseThreshold(condition, alertLevel);
+    thresholds.put(condition, threshold);
+    return threshold;
+  }
+
+  @CheckForNull
+  private static Comparable parseThreshold(Condition condition, Measure.Level alertLevel) {
     String conditionValue = getValueToEval(condition, alertLevel);
     if (StringUtils.isEmpty(conditionValue)) {
-      return Optional.absent();
+      return null;
     }
 
     try {
-      Comparable conditionComparable = parseConditionValue(condition.getMetric(), conditionValue);
-      if (doesReachThresholds(measureComparable, conditionComparable, condition)) {
-        return of(new EvaluationResult(alertLevel, measureComparable));
-      }
-      return Optional.absent();
+      return parseConditionValue(condition.getMetric(), conditionValue);
     } catch (NumberFormatException badValueFormat) {
       throw new IllegalArgumentException(String.format(
         "Quality Gate: Unable to parse value '%s' to compare against %s",
@@ -20,6 +20,7 @@
 package org.sonar.server.computation.source;
 
 import com.google.common.base.Optional;
+import java.util.Arrays;
 import org.sonar.core.util.CloseableIterator;
 import org.sonar.server.computation.batch.BatchReportReader;
 import org.sonar.server.computation.component.Component;
@@ -31,7 +32,14 @@ import static org.sonar.server.computation.component.Component.Type.FILE;
 
 public class SourceLinesRepositoryImpl implements SourceLinesRepository {
 
+  private static final int UNKNOWN_NUMBER_OF_LINES = -1;
+
   private final BatchReportReader reportReader;
+  /**
+   * Number of lines of files, indexed by report ref. Sources are read by several steps, so this avoids
+   * decoding the report component of the file each time, without keeping the components in memory.
+   */
+  private int[] numberOfLinesByRef = new int[0];
 
   public SourceLinesRepositoryImpl(BatchReportReader reportReader) {
     this.reportReader = reportReader;
@@ -45,12 +53,24 @@ public class SourceLinesRepositoryImpl implements SourceLinesRepository {
     Optional<CloseableIterator<String>> linesIteratorOptional = reportReader.readFileSource(file.getReportAttributes().getRef());
 
     checkState(linesIteratorOptional.isPresent(), String.format("File '%s' has no source code", file));
-    int numberOfLines = reportReader.readComponent(file.getReportAttributes().getRef()).getLines();
+    int numberOfLines = getNumberOfLines(file.getReportAttributes().getRef());
     CloseableIterator<String> lineIterator = linesIteratorOptional.get();
 
     return new ComponentLinesCloseableIterator(file, lineIterator, numberOfLines);
   }
 
+  private int getNumberOfLines(int ref) {
+    if (ref >= numberOfLinesByRef.length) {
+      int previousLength = numberOfLinesByRef.length;
+      numberOfLinesByRef = Arrays.copyOf(numberOfLinesByRef, Math.max(ref + 1, previousLength * 2));
+      Arrays.fill(numberOfLinesByRef, previousLength, numberOfLinesByRef.length, UNKNOWN_NUMBER_OF_LINES);
+    }
+    if (numberOfLinesByRef[ref] == UNKNOWN_NUMBER_OF_LINES) {
+      numberOfLinesByRef[ref] = reportReader.readComponent(ref).getLines();
+    }
+    return numberOfLinesByRef[ref];
+  }
+
   private static class ComponentLinesCloseableIterator extends CloseableIterator<String> {
     private static final String EXTRA_END_LINE = "";
 
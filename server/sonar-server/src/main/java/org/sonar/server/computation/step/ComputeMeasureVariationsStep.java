@@ -22,12 +22,10 @@ package org.sonar.server.computation.step;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.sonar.db.DbClient;
@@ -39,7 +37,6 @@ import org.sonar.server.computation.component.DepthTraversalTypeAwareCrawler;
 import org.sonar.server.computation.component.TreeRootHolder;
 import org.sonar.server.computation.component.TypeAwareVisitorAdapter;
 import org.sonar.server.computation.measure.Measure;
-import org.sonar.server.computation.measure.MeasureKey;
 import org.sonar.server.computation.measure.MeasureRepository;
 import org.sonar.server.computation.measure.MeasureVariations;
 import org.sonar.server.computation.metric.Metric;
@@ -53,6 +50,7 @@ import static java.lang.String.format;
 import static org.sonar.server.computation.component.Component.Type.DIRECTORY;
 import static org.sonar.server.computation.component.Component.Type.SUBVIEW;
 import static org.sonar.server.computation.component.ComponentVisitor.Order.PRE_ORDER;
+import static org.sonar.server.computation.period.PeriodsHolder.MAX_NUMBER_OF_PERIODS;
 
 /**
  * Set variations on all numeric measures found in the repository.
@@ -68,15 +66,6 @@ public class ComputeMeasureVariationsStep implements ComputationStep {
   private final MetricRepository metricRepository;
   private final MeasureRepository measureRepository;
 
-  private final Function<PastMeasureDto, MeasureKey> pastMeasureToMeasureKey = new Function<PastMeasureDto, MeasureKey>() {
-    @Nullable
-    @Override
-    public MeasureKey apply(@Nonnull PastMeasureDto input) {
-      Metric metric = metricRepository.getById((long)input.getMetricId());
-      return new MeasureKey(metric.getKey(), null);
-    }
-  };
-
   public ComputeMeasureVariationsStep(DbClient dbClient, TreeRootHolder treeRootHolder, PeriodsHolder periodsHolder, MetricRepository metricRepository,
     MeasureRepository measureRepository) {
     this.dbClient = dbClient;
@@ -114,108 +103,80 @@ public class ComputeMeasureVariationsStep implements ComputationStep {
 
     @Override
     public void visitAny(Component component) {
-      MeasuresWithVariationRepository measuresWithVariationRepository = computeMeasuresWithVariations(component);
-      processMeasuresWithVariation(component, measuresWithVariationRepository);
-    }
-
-    private MeasuresWithVariationRepository computeMeasuresWithVariations(Component component) {
-      MeasuresWithVariationRepository measuresWithVariationRepository = new MeasuresWithVariationRepository();
-      for (Period period : periodsHolder.getPeriods()) {
-        List<PastMeasureDto> pastMeasures = dbClient.measureDao()
-          .selectPastMeasures(session, component.getUuid(), period.getAnalysisUuid(), metricIds);
-        setVariationMeasures(component, pastMeasures, period.getIndex(), measuresWithVariationRepository);
+      List<Period> periods = periodsHolder.getPeriods();
+      if (periods.isEmpty()) {
+        return;
       }
-      return measuresWithVariationRepository;
-    }
-
-    private void setVariationMeasures(Component component, List<PastMeasureDto> pastMeasures, int period, MeasuresWithVariationRepository measuresWithVariationRepository) {
-      Map<MeasureKey, PastMeasureDto> pastMeasuresByMeasureKey = from(pastMeasures).uniqueIndex(pastMeasureToMeasureKey);
+      Map<Integer, double[]> pastValuesByMetricId = loadPastValues(component, periods);
       for (Metric metric : metrics) {
         Optional<Measure> measure = measureRepository.getRawMeasure(component, metric);
         if (measure.isPresent() && !measure.get().hasVariations()) {
-          PastMeasureDto pastMeasure = pastMeasuresByMeasureKey.get(new MeasureKey(metric.getKey(), null));
-          double pastValue = (pastMeasure != null && pastMeasure.hasValue()) ? pastMeasure.getValue() : 0d;
-          measuresWithVariationRepository.add(metric, measure.get(), period, computeVariation(measure.get(), pastValue));
+          checkArgument(measure.get().getDeveloper() == null, "%s does not support computing variations of Measures for Developer",
+            ComputeMeasureVariationsStep.class.getSimpleName());
+          double[] pastValues = pastValuesByMetricId.get(metric.getId());
+          double value = valueOf(measure.get());
+          Double[] variations = new Double[MAX_NUMBER_OF_PERIODS];
+          for (Period period : periods) {
+            int index = period.getIndex() - 1;
+            variations[index] = value - (pastValues == null ? 0d : pastValues[index]);
+          }
+          measureRepository.update(component, metric, Measure.updatedMeasureBuilder(measure.get())
+            .setVariations(new MeasureVariations(variations))
+            .create());
+        }
+      }
+    }
+
+    /**
+     * Loads in a single request the past values of all periods. Values are indexed by period index - 1, 0 meaning
+     * that there's no past value.
+     */
+    private Map<Integer, double[]> loadPastValues(Component component, List<Period> periods) {
+      Set<String> analysisUuids = from(periods).transform(PeriodToAnalysisUuid.INSTANCE).toSet();
+      List<PastMeasureDto> pastMeasures = dbClient.measureDao().selectPastMeasuresOfAnalyses(session, component.getUuid(), analysisUuids, metricIds);
+      Map<Integer, double[]> pastValuesByMetricId = new HashMap<>();
+      for (PastMeasureDto pastMeasure : pastMeasures) {
+        if (!pastMeasure.hasValue()) {
+          continue;
+        }
+        double[] pastValues = pastValuesByMetricId.get(pastMeasure.getMetricId());
+        if (pastValues == null) {
+          pastValues = new double[MAX_NUMBER_OF_PERIODS];
+          pastValuesByMetricId.put(pastMeasure.getMetricId(), pastValues);
+        }
+        // several periods can share the same analysis
+        for (Period period : periods) {
+          if (period.getAnalysisUuid().equals(pastMeasure.getAnalysisUuid())) {
+            pastValues[period.getIndex() - 1] = pastMeasure.getValue();
+          }
         }
       }
+      return pastValuesByMetricId;
     }
 
-    private double computeVariation(Measure measure, double pastValue) {
+    private double valueOf(Measure measure) {
       switch (measure.getValueType()) {
         case INT:
-          return measure.getIntValue() - pastValue;
+          return measure.getIntValue();
         case LONG:
-          return measure.getLongValue() - pastValue;
+          return measure.getLongValue();
         case DOUBLE:
-          return measure.getDoubleValue() - pastValue;
+          return measure.getDoubleValue();
         case BOOLEAN:
-          return (measure.getBooleanValue() ? 1d : 0d) - pastValue;
+          return measure.getBooleanValue() ? 1d : 0d;
         default:
           throw new IllegalArgumentException(format("Unsupported Measure.ValueType on measure '%s'", measure));
       }
     }
-
-    private void processMeasuresWithVariation(Component component, MeasuresWithVariationRepository measuresWithVariationRepository) {
-      for (MeasureWithVariations measureWithVariations : measuresWithVariationRepository.measures()) {
-        Metric metric = measureWithVariations.getMetric();
-        Measure measure = Measure.updatedMeasureBuilder(measureWithVariations.getMeasure())
-          .setVariations(new MeasureVariations(
-            measureWithVariations.getVariation(1),
-            measureWithVariations.getVariation(2),
-            measureWithVariations.getVariation(3),
-            measureWithVariations.getVariation(4),
-            measureWithVariations.getVariation(5)))
-          .create();
-        measureRepository.update(component, metric, measure);
-      }
-    }
-  }
-
-  private static final class MeasuresWithVariationRepository {
-
-    private final Map<MeasureKey, MeasureWithVariations> measuresWithVariations = new HashMap<>();
-
-    public void add(Metric metric, final Measure measure, int variationIndex, double variationValue) {
-      checkArgument(measure.getDeveloper() == null, "%s does not support computing variations of Measures for Developer", getClass().getSimpleName());
-      MeasureKey measureKey = new MeasureKey(metric.getKey(), null);
-      MeasureWithVariations measureWithVariations = measuresWithVariations.get(measureKey);
-      if (measureWithVariations == null) {
-        measureWithVariations = new MeasureWithVariations(metric, measure);
-        measuresWithVariations.put(measureKey, measureWithVariations);
-      }
-      measureWithVariations.setVariation(variationIndex, variationValue);
-    }
-
-    public Collection<MeasureWithVariations> measures() {
-      return measuresWithVariations.values();
-    }
   }
 
-  private static final class MeasureWithVariations {
-    private final Metric metric;
-    private final Measure measure;
-    private final Double[] variations = new Double[5];
-
-    MeasureWithVariations(Metric metric, Measure measure) {
-      this.metric = metric;
-      this.measure = measure;
-    }
-
-    public Measure getMeasure() {
-      return measure;
-    }
-
-    public Metric getMetric() {
-      return metric;
-    }
-
-    public void setVariation(int index, @Nullable Double value) {
-      variations[index - 1] = value;
-    }
+  private enum PeriodToAnalysisUuid implements Function<Period, String> {
+    INSTANCE;
 
-    @CheckForNull
-    public Double getVariation(int index) {
-      return variations[index - 1];
+    @Nullable
+    @Override
+    public String apply(@Nonnull Period period) {
+      return period.getAnalysisUuid();
     }
   }
 
@@ -20,8 +20,16 @@
 package org.sonar.server.computation.step;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
@@ -44,6 +52,7 @@ import org.sonar.server.computation.snapshot.Snapshot;
 
 import static com.google.common.collect.FluentIterable.from;
 import static com.google.common.collect.Lists.newArrayList;
+import static org.sonar.db.DatabaseUtils.PARTITION_SIZE_FOR_ORACLE;
 import static org.sonar.server.computation.component.ComponentVisitor.Order.PRE_ORDER;
 
 /**
@@ -52,6 +61,9 @@ import static org.sonar.server.computation.component.ComponentVisitor.Order.PRE_
  * Blocks can be empty if :
  * - The file is excluded from the analysis using {@link org.sonar.api.CoreProperties#CPD_EXCLUSIONS}
  * - On Java, if the number of statements of the file is too small, nothing will be sent.
+ *
+ * Candidates are not loaded file per file : hashes of consecutive files of the same language are grouped
+ * in order to execute a single SQL request for at least {@link org.sonar.db.DatabaseUtils#PARTITION_SIZE_FOR_ORACLE} hashes.
  */
 public class LoadCrossProjectDuplicationsRepositoryStep implements ComputationStep {
 
@@ -78,7 +90,14 @@ public class LoadCrossProjectDuplicationsRepositoryStep implements ComputationSt
   @Override
   public void execute() {
     if (crossProjectDuplicationStatusHolder.isEnabled()) {
-      new DepthTraversalTypeAwareCrawler(new CrossProjectDuplicationVisitor()).visit(treeRootHolder.getRoot());
+      DbSession dbSession = dbClient.openSession(false);
+      try {
+        CrossProjectDuplicationVisitor visitor = new CrossProjectDuplicationVisitor(dbSession);
+        new DepthTraversalTypeAwareCrawler(visitor).visit(treeRootHolder.getRoot());
+        visitor.computeRemainingFiles();
+      } finally {
+        dbClient.closeSession(dbSession);
+      }
     }
   }
 
@@ -89,20 +108,66 @@ public class LoadCrossProjectDuplicationsRepositoryStep implements ComputationSt
 
   private class CrossProjectDuplicationVisitor extends TypeAwareVisitorAdapter {
 
-    private CrossProjectDuplicationVisitor() {
+    private final DbSession dbSession;
+    @CheckForNull
+    private final String analysisUuid;
+    private final Map<String, PendingFiles> pendingFilesByLanguage = new HashMap<>();
+
+    private CrossProjectDuplicationVisitor(DbSession dbSession) {
       super(CrawlerDepthLimit.FILE, PRE_ORDER);
+      this.dbSession = dbSession;
+      Snapshot projectSnapshot = analysisMetadataHolder.getBaseProjectSnapshot();
+      this.analysisUuid = projectSnapshot == null ? null : projectSnapshot.getUuid();
     }
 
     @Override
     public void visitFile(Component file) {
       List<CpdTextBlock> cpdTextBlocks = newArrayList(reportReader.readCpdTextBlocks(file.getReportAttributes().getRef()));
       LOGGER.trace("Found {} cpd blocks on file {}", cpdTextBlocks.size(), file.getKey());
-      if (cpdTextBlocks.isEmpty()) {
+      String languageKey = file.getFileAttributes().getLanguageKey();
+      if (cpdTextBlocks.isEmpty() || languageKey == null) {
         return;
       }
 
-      Collection<String> hashes = from(cpdTextBlocks).transform(CpdTextBlockToHash.INSTANCE).toList();
-      List<DuplicationUnitDto> dtos = selectDuplicates(file, hashes);
+      PendingFiles pendingFiles = pendingFilesByLanguage.get(languageKey);
+      if (pendingFiles == null) {
+        pendingFiles = new PendingFiles(languageKey);
+        pendingFilesByLanguage.put(languageKey, pendingFiles);
+      }
+      pendingFiles.add(file, cpdTextBlocks);
+      if (pendingFiles.hashes.size() >= PARTITION_SIZE_FOR_ORACLE) {
+        computeCpd(pendingFiles);
+      }
+    }
+
+    private void computeRemainingFiles() {
+      for (PendingFiles pendingFiles : pendingFilesByLanguage.values()) {
+        computeCpd(pendingFiles);
+      }
+    }
+
+    private void computeCpd(PendingFiles pendingFiles) {
+      if (pendingFiles.files.isEmpty()) {
+        return;
+      }
+      ListMultimap<String, DuplicationUnitDto> candidatesByHash = ArrayListMultimap.create();
+      for (DuplicationUnitDto dto : dbClient.duplicationDao().selectCandidates(dbSession, analysisUuid, pendingFiles.languageKey, pendingFiles.hashes)) {
+        candidatesByHash.put(dto.getHash(), dto);
+      }
+      if (!candidatesByHash.isEmpty()) {
+        for (int i = 0; i < pendingFiles.files.size(); i++) {
+          computeCpd(pendingFiles.files.get(i), pendingFiles.blocks.get(i), candidatesByHash);
+        }
+      }
+      pendingFiles.clear();
+    }
+
+    private void computeCpd(Component file, List<CpdTextBlock> cpdTextBlocks, ListMultimap<String, DuplicationUnitDto> candidatesByHash) {
+      Set<String> hashes = from(cpdTextBlocks).transform(CpdTextBlockToHash.INSTANCE).toSet();
+      List<DuplicationUnitDto> dtos = new ArrayList<>();
+      for (String hash : hashes) {
+        dtos.addAll(candidatesByHash.get(hash));
+      }
       if (dtos.isEmpty()) {
         return;
       }
@@ -113,16 +178,31 @@ public class LoadCrossProjectDuplicationsRepositoryStep implements ComputationSt
 
       integrateCrossProjectDuplications.computeCpd(file, originBlocks, duplicatedBlocks);
     }
+  }
 
-    private List<DuplicationUnitDto> selectDuplicates(Component file, Collection<String> hashes) {
-      DbSession dbSession = dbClient.openSession(false);
-      try {
-        Snapshot projectSnapshot = analysisMetadataHolder.getBaseProjectSnapshot();
-        String analysisUuid = projectSnapshot == null ? null : projectSnapshot.getUuid();
-        return dbClient.duplicationDao().selectCandidates(dbSession, analysisUuid, file.getFileAttributes().getLanguageKey(), hashes);
-      } finally {
-        dbClient.closeSession(dbSession);
-      }
+  /**
+   * Files of a given language whose candidates are not loaded yet
+   */
+  private static class PendingFiles {
+    private final String languageKey;
+    private final List<Component> files = new ArrayList<>();
+    private final List<List<CpdTextBlock>> blocks = new ArrayList<>();
+    private final Set<String> hashes = new HashSet<>();
+
+    private PendingFiles(String languageKey) {
+      this.languageKey = languageKey;
+    }
+
+    private void add(Component file, List<CpdTextBlock> cpdTextBlocks) {
+      files.add(file);
+      blocks.add(cpdTextBlocks);
+      hashes.addAll(from(cpdTextBlocks).transform(CpdTextBlockToHash.INSTANCE).toList());
+    }
+
+    private void clear() {
+      files.clear();
+      blocks.clear();
+      hashes.clear();
     }
   }
 
@@ -373,6 +373,10 @@ public class NewCoverageMeasuresStep implements ComputationStep {
         return;
       }
       ScmInfo componentScm = scmInfoOptional.get();
+      if (!hasChangesInPeriods(componentScm, context.getPeriods())) {
+        // most files have no new code, coverage data do not need to be parsed
+        return;
+      }
 
       Optional<Measure> hitsByLineMeasure = context.getMeasure(metricKeys.getCoverageLineHitsData());
       if (!hitsByLineMeasure.isPresent() || hitsByLineMeasure.get().getValueType() == Measure.ValueType.NO_VALUE) {
@@ -412,6 +416,16 @@ public class NewCoverageMeasuresStep implements ComputationStep {
       }
     }
 
+    private static boolean hasChangesInPeriods(ScmInfo componentScm, List<Period> periods) {
+      long latestChangeDate = componentScm.getLatestChangeset().getDate();
+      for (Period period : periods) {
+        if (isLineInPeriod(latestChangeDate, period)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
     /**
      * A line belongs to a Period if its date is older than the SNAPSHOT's date of the period.
      */
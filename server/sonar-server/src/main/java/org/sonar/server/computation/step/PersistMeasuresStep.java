@@ -27,6 +27,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
 import org.sonar.db.DbClient;
 import org.sonar.db.DbSession;
 import org.sonar.db.measure.MeasureDao;
@@ -59,6 +61,14 @@ public class PersistMeasuresStep implements ComputationStep {
     FUNCTION_COMPLEXITY_DISTRIBUTION_KEY,
     CLASS_COMPLEXITY_DISTRIBUTION_KEY);
 
+  /**
+   * Measures are all inserted with the same statement, so they are sent to database by
+   * JDBC batches of this size
+   */
+  private static final int BATCH_SIZE = 1_000;
+
+  private static final Logger LOGGER = Loggers.get(PersistMeasuresStep.class);
+
   private final DbClient dbClient;
   private final MetricRepository metricRepository;
   private final MeasureToMeasureDto measureToMeasureDto;
@@ -81,10 +91,12 @@ public class PersistMeasuresStep implements ComputationStep {
 
   @Override
   public void execute() {
-    DbSession dbSession = dbClient.openSession(true);
+    DbSession dbSession = dbClient.openBatchSession(BATCH_SIZE);
     try {
-      new DepthTraversalTypeAwareCrawler(new MeasureVisitor(dbSession)).visit(treeRootHolder.getRoot());
+      MeasureVisitor visitor = new MeasureVisitor(dbSession);
+      new DepthTraversalTypeAwareCrawler(visitor).visit(treeRootHolder.getRoot());
       dbSession.commit();
+      LOGGER.debug("{} measures persisted", visitor.count);
     } finally {
       dbSession.close();
     }
@@ -92,6 +104,7 @@ public class PersistMeasuresStep implements ComputationStep {
 
   private class MeasureVisitor extends TypeAwareVisitorAdapter {
     private final DbSession session;
+    private long count = 0L;
 
     private MeasureVisitor(DbSession session) {
       super(CrawlerDepthLimit.LEAVES, PRE_ORDER);
@@ -117,6 +130,7 @@ public class PersistMeasuresStep implements ComputationStep {
         for (Measure measure : from(measures.getValue()).filter(NonEmptyMeasure.INSTANCE).filter(notBestValueOptimized)) {
           MeasureDto measureDto = measureToMeasureDto.toMeasureDto(measure, metric, component);
           measureDao.insert(session, measureDto);
+          count++;
         }
       }
     }
@@ -81,6 +81,7 @@ public class QualityGateMeasuresStep implements ComputationStep {
   private final MeasureRepository measureRepository;
   private final MetricRepository metricRepository;
   private final EvaluationResultTextConverter evaluationResultTextConverter;
+  private final ConditionEvaluator conditionEvaluator = new ConditionEvaluator();
 
   public QualityGateMeasuresStep(TreeRootHolder treeRootHolder,
     QualityGateHolder qualityGateHolder, MutableQualityGateStatusHolder qualityGateStatusHolder,
@@ -190,8 +191,7 @@ public class QualityGateMeasuresStep implements ComputationStep {
     }
   }
 
-  private static MetricEvaluationResult evaluateQualityGate(Measure measure, Collection<Condition> conditions) {
-    ConditionEvaluator conditionEvaluator = new ConditionEvaluator();
+  private MetricEvaluationResult evaluateQualityGate(Measure measure, Collection<Condition> conditions) {
     MetricEvaluationResult metricEvaluationResult = null;
     for (Condition newCondition : PERIOD_ORDERING.immutableSortedCopy(conditions)) {
       EvaluationResult newEvaluationResult = conditionEvaluator.evaluate(newCondition, measure);
@@ -57,6 +57,17 @@ public class Facets {
     }
   }
 
+  /**
+   * Deep copy, buckets can be altered without impacting the original instance.
+   */
+  public Facets copy() {
+    LinkedHashMap<String, LinkedHashMap<String, Long>> copy = new LinkedHashMap<>();
+    for (Map.Entry<String, LinkedHashMap<String, Long>> facet : facetsByName.entrySet()) {
+      copy.put(facet.getKey(), new LinkedHashMap<>(facet.getValue()));
+    }
+    return new Facets(copy);
+  }
+
   private void processAggregation(Aggregation aggregation) {
     if (Missing.class.isAssignableFrom(aggregation.getClass())) {
       processMissingAggregation((Missing) aggregation);
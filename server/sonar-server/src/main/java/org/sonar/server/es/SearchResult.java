@@ -32,7 +32,14 @@ public class SearchResult<DOC extends BaseDoc> {
   private final long total;
 
   public SearchResult(SearchResponse response, Function<Map<String, Object>, DOC> converter) {
-    this.facets = new Facets(response);
+    this(response, converter, new Facets(response));
+  }
+
+  /**
+   * @param facets facets that are not computed from the response, for example when loaded from a cache
+   */
+  public SearchResult(SearchResponse response, Function<Map<String, Object>, DOC> converter, Facets facets) {
+    this.facets = facets;
     this.total = response.getHits().totalHits();
     this.docs = EsUtils.convertToDocs(response.getHits(), converter);
   }
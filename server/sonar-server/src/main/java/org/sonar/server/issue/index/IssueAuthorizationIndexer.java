@@ -43,10 +43,16 @@ import java.util.Map;
 public class IssueAuthorizationIndexer extends BaseIndexer {
 
   private final DbClient dbClient;
+  private final IssueFacetsCache facetsCache;
 
   public IssueAuthorizationIndexer(DbClient dbClient, EsClient esClient) {
+    this(dbClient, esClient, IssueFacetsCache.disabled());
+  }
+
+  public IssueAuthorizationIndexer(DbClient dbClient, EsClient esClient, IssueFacetsCache facetsCache) {
     super(esClient, 0L, IssueIndexDefinition.INDEX, IssueIndexDefinition.TYPE_AUTHORIZATION, IssueIndexDefinition.FIELD_ISSUE_TECHNICAL_UPDATED_AT);
     this.dbClient = dbClient;
+    this.facetsCache = facetsCache;
   }
 
   @Override
@@ -76,6 +82,7 @@ public class IssueAuthorizationIndexer extends BaseIndexer {
       maxDate = Math.max(maxDate, authorization.getUpdatedAt());
     }
     bulk.stop();
+    facetsCache.invalidate();
     return maxDate;
   }
 
@@ -85,6 +92,7 @@ public class IssueAuthorizationIndexer extends BaseIndexer {
       .setRefresh(refresh)
       .setRouting(uuid)
       .get();
+    facetsCache.invalidate();
   }
 
   private static ActionRequest newUpdateRequest(IssueAuthorizationDao.Dto dto) {
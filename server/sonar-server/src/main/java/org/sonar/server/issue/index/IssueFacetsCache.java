@@ -0,0 +1,130 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.issue.index;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.CheckForNull;
+import org.apache.commons.lang.builder.ReflectionToStringBuilder;
+import org.apache.commons.lang.builder.ToStringStyle;
+import org.sonar.api.server.ServerSide;
+import org.sonar.server.es.Facets;
+import org.sonar.server.issue.IssueQuery;
+
+/**
+ * Short-lived cache of the facets computed by {@link IssueIndex#search(IssueQuery, org.sonar.server.es.SearchOptions)}.
+ * Facets depend neither on pagination nor on sorting, so they are reused when only the page of issues changes.
+ * <p/>
+ * The cache is cleared as soon as issues or permissions are indexed by the current process. Changes indexed by
+ * the other process (for example issues of an analysis indexed by the Compute Engine) are visible once entries expire.
+ */
+@ServerSide
+public class IssueFacetsCache {
+
+  private static final long DEFAULT_DURATION_IN_SECONDS = 30L;
+  private static final long DEFAULT_MAX_SIZE = 500L;
+
+  private final Cache<String, Facets> cache;
+  private final AtomicLong generation = new AtomicLong();
+
+  public IssueFacetsCache() {
+    this(DEFAULT_DURATION_IN_SECONDS, DEFAULT_MAX_SIZE);
+  }
+
+  @VisibleForTesting
+  IssueFacetsCache(long durationInSeconds, long maxSize) {
+    this.cache = CacheBuilder.newBuilder()
+      .expireAfterWrite(durationInSeconds, TimeUnit.SECONDS)
+      .maximumSize(maxSize)
+      .build();
+  }
+
+  /**
+   * Cache that never keeps facets. Used when components are instantiated without container.
+   */
+  static IssueFacetsCache disabled() {
+    return new IssueFacetsCache(0L, 0L);
+  }
+
+  /**
+   * Copy of the cached facets, so that callers are free to alter them. Null if the facets
+   * have not been computed yet, have expired or have been invalidated.
+   */
+  @CheckForNull
+  Facets get(String key) {
+    Facets facets = cache.getIfPresent(key);
+    return facets == null ? null : facets.copy();
+  }
+
+  void put(String key, Facets facets) {
+    cache.put(key, facets.copy());
+  }
+
+  /**
+   * Must be called each time documents of the index "issues" are created, updated or deleted.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  /**
+   * The key must be computed before requesting Elasticsearch. It contains the current generation
+   * of index, so that a search started before an invalidation does not store outdated facets.
+   */
+  String key(IssueQuery query, Collection<String> facetNames) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(generation.get()).append('|');
+    sb.append(new TreeSet<>(facetNames)).append('|');
+    sb.append(new NormalizedQueryToString(query).toString());
+    return sb.toString();
+  }
+
+  /**
+   * Sort and pagination are ignored. Values of collections are sorted, so that two requests
+   * with the same criteria in different orders share the same facets.
+   */
+  private static class NormalizedQueryToString extends ReflectionToStringBuilder {
+    NormalizedQueryToString(IssueQuery query) {
+      super(query, ToStringStyle.SHORT_PREFIX_STYLE);
+      setExcludeFieldNames(new String[] {"sort", "asc"});
+    }
+
+    @Override
+    protected Object getValue(Field field) throws IllegalAccessException {
+      Object value = super.getValue(field);
+      if (value instanceof Collection) {
+        Set<String> sorted = new TreeSet<>();
+        for (Object item : (Collection<?>) value) {
+          sorted.add(String.valueOf(item));
+        }
+        return sorted;
+      }
+      return value;
+    }
+  }
+}
@@ -25,6 +25,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -49,6 +50,7 @@ import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
@@ -71,6 +73,7 @@ import org.sonar.db.component.ComponentDto;
 import org.sonar.server.es.BaseIndex;
 import org.sonar.server.es.EsClient;
 import org.sonar.server.es.EsUtils;
+import org.sonar.server.es.Facets;
 import org.sonar.server.es.SearchOptions;
 import org.sonar.server.es.SearchResult;
 import org.sonar.server.es.Sorting;
@@ -144,6 +147,7 @@ public class IssueIndex extends BaseIndex {
   private static final Order EFFORT_AGGREGATION_ORDER = Order.aggregation(FACET_MODE_EFFORT, false);
 
   private static final int DEFAULT_FACET_SIZE = 15;
+  private static final int MAX_AUTHORIZED_PROJECTS_AS_TERMS = 1_000;
   private static final Duration TWENTY_DAYS = Duration.standardDays(20L);
   private static final Duration TWENTY_WEEKS = Duration.standardDays(20L * 7L);
   private static final Duration TWENTY_MONTHS = Duration.standardDays(20L * 30L);
@@ -162,12 +166,18 @@ public class IssueIndex extends BaseIndex {
   private final Sorting sorting;
   private final System2 system;
   private final UserSession userSession;
+  private final IssueFacetsCache facetsCache;
 
   public IssueIndex(EsClient client, System2 system, UserSession userSession) {
+    this(client, system, userSession, IssueFacetsCache.disabled());
+  }
+
+  public IssueIndex(EsClient client, System2 system, UserSession userSession, IssueFacetsCache facetsCache) {
     super(client);
 
     this.system = system;
     this.userSession = userSession;
+    this.facetsCache = facetsCache;
     this.sorting = new Sorting();
     this.sorting.add(IssueQuery.SORT_BY_ASSIGNEE, IssueIndexDefinition.FIELD_ISSUE_ASSIGNEE);
     this.sorting.add(IssueQuery.SORT_BY_STATUS, IssueIndexDefinition.FIELD_ISSUE_STATUS);
@@ -233,8 +243,32 @@ public class IssueIndex extends BaseIndex {
       requestBuilder.setQuery(esQuery);
     }
 
+    if (options.getFacets().isEmpty() || !isFacetsCacheable(query, options)) {
+      configureStickyFacets(query, options, filters, esQuery, requestBuilder);
+      return new SearchResult<>(requestBuilder.get(), DOC_CONVERTER);
+    }
+
+    // facets do not change when only the page or the sort change, so aggregations are
+    // not requested when they are already in cache. There is no request of facets without hits:
+    // the page of hits is cheap compared to aggregations and web service has no parameter for that
+    // (page size 0 already means maximum page size).
+    String facetsKey = facetsCache.key(query, options.getFacets());
+    Facets cachedFacets = facetsCache.get(facetsKey);
+    if (cachedFacets != null) {
+      return new SearchResult<>(requestBuilder.get(), DOC_CONVERTER, cachedFacets);
+    }
     configureStickyFacets(query, options, filters, esQuery, requestBuilder);
-    return new SearchResult<>(requestBuilder.get(), DOC_CONVERTER);
+    SearchResult<IssueDoc> result = new SearchResult<>(requestBuilder.get(), DOC_CONVERTER);
+    facetsCache.put(facetsKey, result.getFacets());
+    return result;
+  }
+
+  /**
+   * Without end bound, the histogram of creation dates ends at the current time, so it must not
+   * be reused by the next requests.
+   */
+  private static boolean isFacetsCacheable(IssueQuery query, SearchOptions options) {
+    return query.createdBefore() != null || !options.getFacets().contains(CREATED_AT);
   }
 
   private void configureSorting(IssueQuery query, SearchRequestBuilder esRequest) {
@@ -332,7 +366,7 @@ public class IssueIndex extends BaseIndex {
     return viewsFilter;
   }
 
-  private static QueryBuilder createAuthorizationFilter(boolean checkAuthorization, @Nullable String userLogin, Set<String> userGroups) {
+  private QueryBuilder createAuthorizationFilter(boolean checkAuthorization, @Nullable String userLogin, Set<String> userGroups) {
     if (checkAuthorization) {
       BoolQueryBuilder groupsAndUser = boolQuery();
       if (userLogin != null) {
@@ -341,12 +375,39 @@ public class IssueIndex extends BaseIndex {
       for (String group : userGroups) {
         groupsAndUser.should(termQuery(IssueIndexDefinition.FIELD_AUTHORIZATION_GROUPS, group));
       }
-      return QueryBuilders.hasParentQuery(IssueIndexDefinition.TYPE_AUTHORIZATION,
-        QueryBuilders.boolQuery().must(matchAllQuery()).filter(groupsAndUser));
+      QueryBuilder authorizationQuery = QueryBuilders.boolQuery().must(matchAllQuery()).filter(groupsAndUser);
+      Optional<List<String>> authorizedProjectUuids = searchAuthorizedProjectUuids(authorizationQuery);
+      if (authorizedProjectUuids.isPresent()) {
+        return termsQuery(IssueIndexDefinition.FIELD_ISSUE_PROJECT_UUID, authorizedProjectUuids.get());
+      }
+      return QueryBuilders.hasParentQuery(IssueIndexDefinition.TYPE_AUTHORIZATION, authorizationQuery);
     }
     return matchAllQuery();
   }
 
+  /**
+   * Authorized projects are resolved with a cheap request on the small type "authorization", so that
+   * the issues are filtered by project instead of being joined with their parent document. The
+   * join is kept when the user is authorized on too many projects.
+   */
+  private Optional<List<String>> searchAuthorizedProjectUuids(QueryBuilder authorizationQuery) {
+    SearchResponse response = getClient()
+      .prepareSearch(IssueIndexDefinition.INDEX)
+      .setTypes(IssueIndexDefinition.TYPE_AUTHORIZATION)
+      .setQuery(authorizationQuery)
+      .setFetchSource(false)
+      .setSize(MAX_AUTHORIZED_PROJECTS_AS_TERMS)
+      .get();
+    if (response.getHits().getTotalHits() > MAX_AUTHORIZED_PROJECTS_AS_TERMS) {
+      return Optional.empty();
+    }
+    List<String> projectUuids = new ArrayList<>();
+    for (SearchHit hit : response.getHits()) {
+      projectUuids.add(hit.getId());
+    }
+    return Optional.of(projectUuids);
+  }
+
   private void addDatesFilter(Map<String, QueryBuilder> filters, IssueQuery query) {
     Date createdAfter = query.createdAfter();
     Date createdBefore = query.createdBefore();
@@ -46,10 +46,16 @@ public class IssueIndexer extends BaseIndexer {
   private static final int MAX_BATCH_SIZE = 1000;
 
   private final DbClient dbClient;
+  private final IssueFacetsCache facetsCache;
 
   public IssueIndexer(DbClient dbClient, EsClient esClient) {
+    this(dbClient, esClient, IssueFacetsCache.disabled());
+  }
+
+  public IssueIndexer(DbClient dbClient, EsClient esClient, IssueFacetsCache facetsCache) {
     super(esClient, 300, INDEX, TYPE_ISSUE, FIELD_ISSUE_TECHNICAL_UPDATED_AT);
     this.dbClient = dbClient;
+    this.facetsCache = facetsCache;
   }
 
   @Override
@@ -92,6 +98,7 @@ public class IssueIndexer extends BaseIndexer {
       maxDate = Math.max(maxDate, issue.getTechnicalUpdateDate().getTime());
     }
     bulk.stop();
+    facetsCache.invalidate();
     return maxDate;
   }
 
@@ -105,6 +112,7 @@ public class IssueIndexer extends BaseIndexer {
       .setQuery(boolQuery().must(termQuery(FIELD_ISSUE_PROJECT_UUID, uuid)));
     bulk.addDeletion(search);
     bulk.stop();
+    facetsCache.invalidate();
   }
 
   public void deleteByKeys(String projectUuid, List<String> issueKeys) {
@@ -127,6 +135,7 @@ public class IssueIndexer extends BaseIndexer {
     }
     EsUtils.executeBulkRequest(builder, DELETE_ERROR_MESSAGE, projectUuid);
     esClient.prepareRefresh(INDEX).get();
+    facetsCache.invalidate();
   }
 
   private BulkIndexer createBulkIndexer(boolean large) {
@@ -40,6 +40,8 @@ import org.sonar.server.es.Facets;
 import org.sonar.server.issue.ActionService;
 import org.sonar.server.issue.IssueCommentService;
 import org.sonar.server.issue.IssueService;
+import org.sonar.server.rule.RuleDtoCache;
+import org.sonar.server.user.UserDtoCache;
 import org.sonarqube.ws.client.issue.IssueFilterParameters;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -58,12 +60,17 @@ public class SearchResponseLoader {
   private final IssueService issueService;
   private final ActionService actionService;
   private final IssueCommentService commentService;
+  private final RuleDtoCache ruleDtoCache;
+  private final UserDtoCache userDtoCache;
 
-  public SearchResponseLoader(DbClient dbClient, IssueService issueService, ActionService actionService, IssueCommentService commentService) {
+  public SearchResponseLoader(DbClient dbClient, IssueService issueService, ActionService actionService, IssueCommentService commentService,
+    RuleDtoCache ruleDtoCache, UserDtoCache userDtoCache) {
     this.dbClient = dbClient;
     this.issueService = issueService;
     this.actionService = actionService;
     this.commentService = commentService;
+    this.ruleDtoCache = ruleDtoCache;
+    this.userDtoCache = userDtoCache;
   }
 
   /**
@@ -91,7 +98,7 @@ public class SearchResponseLoader {
 
   private void loadUsers(Collector collector, DbSession dbSession, SearchResponseData result) {
     if (collector.contains(USERS)) {
-      result.setUsers(dbClient.userDao().selectByLogins(dbSession, collector.<String>get(USERS)));
+      result.setUsers(userDtoCache.getAll(dbSession, collector.<String>get(USERS)));
     }
   }
 
@@ -110,7 +117,7 @@ public class SearchResponseLoader {
 
   private void loadRules(Collector collector, DbSession dbSession, SearchResponseData result) {
     if (collector.contains(RULES)) {
-      result.setRules(dbClient.ruleDao().selectByKeys(dbSession, collector.<RuleKey>get(RULES)));
+      result.setRules(ruleDtoCache.getAll(dbSession, collector.<RuleKey>get(RULES)));
     }
   }
 
@@ -122,8 +129,16 @@ public class SearchResponseLoader {
     for (ComponentDto component : result.getComponents()) {
       collector.addProjectUuid(component.projectUuid());
     }
-    List<ComponentDto> projects = dbClient.componentDao().selectByUuids(dbSession, collector.getProjectUuids());
-    result.addComponents(projects);
+    // projects are often already loaded, for example when issues are on the project itself
+    Set<String> missingProjectUuids = new HashSet<>();
+    for (String projectUuid : collector.getProjectUuids()) {
+      if (result.getComponentByUuid(projectUuid) == null) {
+        missingProjectUuids.add(projectUuid);
+      }
+    }
+    if (!missingProjectUuids.isEmpty()) {
+      result.addComponents(dbClient.componentDao().selectByUuids(dbSession, missingProjectUuids));
+    }
   }
 
   private void loadActionsAndTransitions(Collector collector, SearchResponseData result) {
@@ -19,28 +19,48 @@
  */
 package org.sonar.server.measure;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
 import org.sonar.api.server.ServerSide;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.api.utils.log.Profiler;
 
-import javax.annotation.Nullable;
-
-import java.util.List;
-import java.util.Map;
-
 @ServerSide
 public class MeasureFilterEngine {
 
   private static final Logger LOG = Loggers.get("MeasureFilter");
 
+  /**
+   * Widgets of a dashboard frequently execute the same filter several times in a row.
+   * Rows are kept for a few seconds only, so that new analyses are quickly visible.
+   */
+  private static final long CACHE_DURATION_IN_SECONDS = 10L;
+  private static final long CACHE_MAX_SIZE = 100L;
+
   private final MeasureFilterFactory factory;
   private final MeasureFilterExecutor executor;
+  private final Cache<String, List<MeasureFilterRow>> rowsCache;
 
   public MeasureFilterEngine(MeasureFilterFactory factory, MeasureFilterExecutor executor) {
+    this(factory, executor, CacheBuilder.newBuilder()
+      .expireAfterWrite(CACHE_DURATION_IN_SECONDS, TimeUnit.SECONDS)
+      .maximumSize(CACHE_MAX_SIZE)
+      .<String, List<MeasureFilterRow>>build());
+  }
+
+  @VisibleForTesting
+  MeasureFilterEngine(MeasureFilterFactory factory, MeasureFilterExecutor executor, Cache<String, List<MeasureFilterRow>> rowsCache) {
     this.executor = executor;
     this.factory = factory;
+    this.rowsCache = rowsCache;
   }
 
   public MeasureFilterResult execute(Map<String, Object> filterMap, @Nullable Long userId) {
@@ -51,8 +71,17 @@ public class MeasureFilterEngine {
     context.setData(String.format("{%s}", Joiner.on('|').withKeyValueSeparator("=").join(filterMap)));
     try {
       profiler.addContext("request", context.getData());
-      MeasureFilter filter = factory.create(filterMap);
-      List<MeasureFilterRow> rows = executor.execute(filter, context);
+      // rows are not filtered on permissions, so only the user (favourites) is part of the key
+      String cacheKey = String.valueOf(userId) + context.getData();
+      List<MeasureFilterRow> rows = rowsCache.getIfPresent(cacheKey);
+      if (rows == null) {
+        MeasureFilter filter = factory.create(filterMap);
+        // rows are shared by the requests which execute the same filter
+        rows = ImmutableList.copyOf(executor.execute(filter, context));
+        rowsCache.put(cacheKey, rows);
+      } else {
+        profiler.addContext("cached", true);
+      }
       result.setRows(rows);
 
     } catch (NumberFormatException e) {
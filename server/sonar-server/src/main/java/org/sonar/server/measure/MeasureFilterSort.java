@@ -80,6 +80,15 @@ class MeasureFilterSort {
     return metric != null && metric.getKey().equals(CoreMetrics.ALERT_STATUS_KEY);
   }
 
+  /**
+   * Numeric measures and dates have the same ordering in database and in Java, so
+   * rows can be returned already sorted by the SQL request. Texts are sorted
+   * programmatically because ordering is case-insensitive.
+   */
+  boolean isSortedInDatabase() {
+    return isOnNumericMeasure() || isOnDate() || isOnTime();
+  }
+
   boolean isAsc() {
     return asc;
   }
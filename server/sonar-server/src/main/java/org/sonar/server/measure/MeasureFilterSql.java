@@ -136,9 +136,19 @@ class MeasureFilterSql {
       condition.appendSqlCondition(sb, index);
     }
 
+    if (filter.sort().isSortedInDatabase()) {
+      appendOrderBy(sb);
+    }
     return sb.toString();
   }
 
+  private void appendOrderBy(StringBuilder sb) {
+    String column = filter.sort().column();
+    // null values are always last, whatever the direction. Default behavior differs between databases.
+    sb.append(" order by case when ").append(column).append(" is null then 1 else 0 end, ");
+    sb.append(column).append(filter.sort().isAsc() ? " asc" : " desc");
+  }
+
   private void appendComponentConditions(StringBuilder sb) {
     sb.append(" and c.enabled=").append(database.getDialect().getTrueSqlValue());
     ComponentDto base = context.getBaseComponent();
@@ -231,6 +241,9 @@ class MeasureFilterSql {
       rows.add(rowProcessor.fetch(rs));
     }
 
+    if (filter.sort().isSortedInDatabase()) {
+      return rows;
+    }
     return rowProcessor.sort(rows, filter.sort().isAsc());
   }
 
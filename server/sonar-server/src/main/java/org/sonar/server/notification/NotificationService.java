@@ -30,7 +30,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
@@ -45,6 +48,7 @@ import org.sonar.api.server.ServerSide;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.db.DbClient;
+import org.sonar.server.notification.email.EmailNotificationChannel;
 
 @Properties({
   @Property(
@@ -64,6 +68,12 @@ import org.sonar.db.DbClient;
 @ComputeEngineSide
 public class NotificationService implements Startable {
   private static final String THREAD_NAME_PREFIX = "sq-notification-service-";
+  private static final String DELIVERY_THREAD_NAME_PREFIX = "sq-notification-delivery-";
+  /**
+   * Number of recipients to which a notification is delivered concurrently. Kept low in order
+   * to not exceed the number of connections accepted by SMTP servers.
+   */
+  private static final int DELIVERY_THREADS = 5;
 
   private static final Logger LOG = Loggers.get(NotificationService.class);
 
@@ -77,6 +87,7 @@ public class NotificationService implements Startable {
   private final DbClient dbClient;
 
   private ScheduledExecutorService executorService;
+  private ExecutorService deliveryExecutorService;
   private boolean stopping = false;
   private final boolean disabled;
 
@@ -99,6 +110,12 @@ public class NotificationService implements Startable {
 
   @Override
   public void start() {
+    // notifications are also delivered directly, without the queue, by the Compute Engine
+    deliveryExecutorService = Executors.newFixedThreadPool(DELIVERY_THREADS,
+      new ThreadFactoryBuilder()
+        .setNameFormat(DELIVERY_THREAD_NAME_PREFIX + "%d")
+        .setPriority(Thread.MIN_PRIORITY)
+        .build());
     if (!disabled) {
       executorService =
           Executors.newSingleThreadScheduledExecutor(
@@ -122,14 +139,20 @@ public class NotificationService implements Startable {
 
   @Override
   public void stop() {
-    if (!disabled) {
-      try {
+    try {
+      if (!disabled) {
         stopping = true;
         executorService.shutdown();
         executorService.awaitTermination(5, TimeUnit.SECONDS);
-      } catch (InterruptedException e) {
-        LOG.error("Error during stop of notification service", e);
       }
+      if (deliveryExecutorService != null) {
+        deliveryExecutorService.shutdown();
+        deliveryExecutorService.awaitTermination(5, TimeUnit.SECONDS);
+      }
+    } catch (InterruptedException e) {
+      LOG.error("Error during stop of notification service", e);
+    }
+    if (!disabled) {
       LOG.info("Notification service stopped");
     }
   }
@@ -183,19 +206,50 @@ public class NotificationService implements Startable {
     dispatch(notification, recipients);
   }
 
+  /**
+   * Emails are sent concurrently to the recipients when the service is started, as sending
+   * is mostly waiting for the SMTP server. {@link EmailNotificationChannel} is thread-safe,
+   * but other channels, for example provided by plugins, may not be: they are called
+   * sequentially. The method returns once the notification is delivered to all the recipients.
+   */
   private void dispatch(Notification notification, SetMultimap<String, NotificationChannel> recipients) {
-    for (Map.Entry<String, Collection<NotificationChannel>> entry : recipients.asMap().entrySet()) {
+    List<Future<?>> deliveries = new ArrayList<>();
+    for (Map.Entry<String, NotificationChannel> entry : recipients.entries()) {
       String username = entry.getKey();
-      Collection<NotificationChannel> userChannels = entry.getValue();
-      LOG.debug("For user {} via {}", username, userChannels);
-      for (NotificationChannel channel : userChannels) {
-        try {
-          channel.deliver(notification, username);
-        } catch (Exception e) {
-          // catch all exceptions in order to deliver via other channels
-          LOG.warn("Unable to deliver notification " + notification + " for user " + username + " via " + channel, e);
-        }
+      NotificationChannel channel = entry.getValue();
+      if (deliveryExecutorService != null && isThreadSafe(channel)) {
+        deliveries.add(deliveryExecutorService.submit(() -> deliver(notification, username, channel)));
+      } else {
+        deliver(notification, username, channel);
+      }
+    }
+    waitFor(deliveries);
+  }
+
+  private static boolean isThreadSafe(NotificationChannel channel) {
+    return channel instanceof EmailNotificationChannel;
+  }
+
+  private static void deliver(Notification notification, String username, NotificationChannel channel) {
+    LOG.debug("For user {} via {}", username, channel);
+    try {
+      channel.deliver(notification, username);
+    } catch (Exception e) {
+      // catch all exceptions in order to deliver via other channels
+      LOG.warn("Unable to deliver notification " + notification + " for user " + username + " via " + channel, e);
+    }
+  }
+
+  private static void waitFor(List<Future<?>> deliveries) {
+    try {
+      for (Future<?> delivery : deliveries) {
+        delivery.get();
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // failures of channels are already logged
+      throw new IllegalStateException("Fail to deliver notification", e.getCause());
     }
   }
 
@@ -47,6 +47,7 @@ public class Platform {
   private static final Logger LOGGER = Loggers.get(Platform.class);
 
   private static final Platform INSTANCE = new Platform();
+  private static final int SLOWEST_COMPONENTS_LOGGED = 10;
 
   private Properties properties;
   private ServletContext servletContext;
@@ -60,6 +61,7 @@ public class Platform {
   private boolean started = false;
   private final List<Object> level4AddedComponents = Lists.newArrayList();
   private final Profiler profiler = Profiler.createIfTrace(Loggers.get(Platform.class));
+  private final StartupDurations startupDurations = new StartupDurations();
 
   public static Platform getInstance() {
     return INSTANCE;
@@ -196,11 +198,22 @@ public class Platform {
 
   private void executeStartupTasks(Startup startup) {
     if (startup.ordinal() >= Startup.ALL.ordinal()) {
-      new PlatformLevelStartup(level4)
+      long startedAt = System.currentTimeMillis();
+      PlatformLevel startupLevel = new PlatformLevelStartup(level4)
         .configure()
-        .start()
+        .start();
+      startupDurations.recordLevel(startupLevel.getName(), System.currentTimeMillis() - startedAt);
+      startupLevel
         .stop()
         .destroy();
+      logStartupDurations();
+    }
+  }
+
+  private void logStartupDurations() {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Durations of start of platform levels (ms): {}", startupDurations.levels());
+      LOGGER.debug("Slowest components to start (ms): {}", startupDurations.slowestComponents(SLOWEST_COMPONENTS_LOGGED));
     }
   }
 
@@ -209,12 +222,18 @@ public class Platform {
   }
 
   private PlatformLevel start(PlatformLevel platformLevel) {
+    if (platformLevel.getContainer().getParent() == null) {
+      // the monitor is propagated to children containers, including the ones of the next levels
+      platformLevel.getContainer().getPicoContainer().changeMonitor(startupDurations.componentMonitor());
+    }
+    long startedAt = System.currentTimeMillis();
     profiler.start();
     platformLevel.configure();
     profiler.stopTrace(String.format("%s configured", platformLevel.getName()));
     profiler.start();
     platformLevel.start();
     profiler.stopTrace(String.format("%s started", platformLevel.getName()));
+    startupDurations.recordLevel(platformLevel.getName(), System.currentTimeMillis() - startedAt);
 
     return platformLevel;
   }
@@ -284,6 +303,10 @@ public class Platform {
     return currentLevel.getContainer();
   }
 
+  public StartupDurations getStartupDurations() {
+    return startupDurations;
+  }
+
   public Object getComponent(Object key) {
     return getContainer().getComponentByKey(key);
   }
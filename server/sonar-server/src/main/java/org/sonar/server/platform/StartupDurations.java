@@ -0,0 +1,97 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform;
+
+import com.google.common.collect.Ordering;
+import java.lang.reflect.Member;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.picocontainer.ComponentAdapter;
+import org.picocontainer.ComponentMonitor;
+import org.picocontainer.PicoContainer;
+import org.picocontainer.monitors.NullComponentMonitor;
+
+/**
+ * Durations of the start of the platform levels and of the components they contain,
+ * as measured during the last start of the web server.
+ */
+public class StartupDurations {
+
+  private static final String START_METHOD = "start";
+
+  private final Map<String, Long> levels = Collections.synchronizedMap(new LinkedHashMap<String, Long>());
+  private final Map<String, Long> components = new ConcurrentHashMap<>();
+  private final ComponentMonitor componentMonitor = new StartMonitor();
+
+  /**
+   * Monitor to be set on the root picocontainer, so that it's notified of the calls to the
+   * method start() of components.
+   */
+  public ComponentMonitor componentMonitor() {
+    return componentMonitor;
+  }
+
+  public void recordLevel(String levelName, long durationInMs) {
+    // remove first, so that levels are ordered by their last start
+    levels.remove(levelName);
+    levels.put(levelName, durationInMs);
+  }
+
+  public void recordComponent(String componentName, long durationInMs) {
+    components.put(componentName, durationInMs);
+  }
+
+  public Map<String, Long> levels() {
+    synchronized (levels) {
+      return new LinkedHashMap<>(levels);
+    }
+  }
+
+  /**
+   * @return the durations of the {@code limit} components which took the most time to start, slowest first
+   */
+  public Map<String, Long> slowestComponents(int limit) {
+    List<Map.Entry<String, Long>> entries = BY_DURATION_DESC.leastOf(components.entrySet(), limit);
+    Map<String, Long> result = new LinkedHashMap<>();
+    for (Map.Entry<String, Long> entry : entries) {
+      result.put(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+
+  private static final Ordering<Map.Entry<String, Long>> BY_DURATION_DESC = new Ordering<Map.Entry<String, Long>>() {
+    @Override
+    public int compare(Map.Entry<String, Long> left, Map.Entry<String, Long> right) {
+      return Long.compare(right.getValue(), left.getValue());
+    }
+  };
+
+  private class StartMonitor extends NullComponentMonitor {
+    @Override
+    public void invoked(PicoContainer container, ComponentAdapter<?> componentAdapter, Member member, Object instance, long duration, Object[] args, Object retVal) {
+      if (instance != null && START_METHOD.equals(member.getName())) {
+        recordComponent(instance.getClass().getName(), duration);
+      }
+    }
+  }
+}
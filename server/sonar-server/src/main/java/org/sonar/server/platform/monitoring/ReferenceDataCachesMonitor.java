@@ -0,0 +1,65 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import com.google.common.cache.CacheStats;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.sonar.server.rule.RuleDtoCache;
+import org.sonar.server.user.UserDtoCache;
+import org.sonar.server.util.cache.ReferenceDataCache;
+
+/**
+ * Usage of the in-memory caches of rules and users
+ */
+public class ReferenceDataCachesMonitor implements Monitor {
+
+  private final RuleDtoCache ruleDtoCache;
+  private final UserDtoCache userDtoCache;
+
+  public ReferenceDataCachesMonitor(RuleDtoCache ruleDtoCache, UserDtoCache userDtoCache) {
+    this.ruleDtoCache = ruleDtoCache;
+    this.userDtoCache = userDtoCache;
+  }
+
+  @Override
+  public String name() {
+    return "Caches";
+  }
+
+  @Override
+  public Map<String, Object> attributes() {
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    attributes.put("Rules", cacheAttributes(ruleDtoCache));
+    attributes.put("Users", cacheAttributes(userDtoCache));
+    return attributes;
+  }
+
+  private static Map<String, Object> cacheAttributes(ReferenceDataCache<?, ?> cache) {
+    CacheStats stats = cache.stats();
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    attributes.put("Size", cache.size());
+    attributes.put("Hits", stats.hitCount());
+    attributes.put("Misses", stats.missCount());
+    attributes.put("Hit Rate", stats.hitRate());
+    attributes.put("Evictions", stats.evictionCount());
+    return attributes;
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.sonar.db.DbClient;
+import org.sonar.db.profiling.SqlStatistics;
+import org.sonar.db.profiling.SqlStatistics.StatementStatistics;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * SQL statements of the web server which cumulate the greatest durations since startup
+ */
+public class SqlStatisticsMonitor implements Monitor {
+
+  private static final int SLOWEST_STATEMENTS = 20;
+
+  private final DbClient dbClient;
+
+  public SqlStatisticsMonitor(DbClient dbClient) {
+    this.dbClient = dbClient;
+  }
+
+  @Override
+  public String name() {
+    return "Database Statements";
+  }
+
+  @Override
+  public Map<String, Object> attributes() {
+    SqlStatistics statistics = dbClient.getMyBatis().getSqlStatistics();
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    for (StatementStatistics statement : statistics.slowest(SLOWEST_STATEMENTS)) {
+      Map<String, Object> values = new LinkedHashMap<>();
+      values.put("Calls", statement.getCalls());
+      values.put("Total (ms)", NANOSECONDS.toMillis(statement.getTotalDurationNanos()));
+      values.put("Average (ms)", toMillisWithFraction(statement.getAverageDurationNanos()));
+      values.put("Max (ms)", NANOSECONDS.toMillis(statement.getMaxDurationNanos()));
+      values.put("Rows", statement.getRows());
+      attributes.put(statement.getStatement(), values);
+    }
+    return attributes;
+  }
+
+  /**
+   * Cheap statements are executed in less than one millisecond, so microseconds are kept
+   */
+  private static double toMillisWithFraction(long nanos) {
+    return NANOSECONDS.toMicros(nanos) / 1_000d;
+  }
+}
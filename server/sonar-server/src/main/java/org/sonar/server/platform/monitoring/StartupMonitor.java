@@ -0,0 +1,52 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.sonar.server.platform.Platform;
+import org.sonar.server.platform.StartupDurations;
+
+/**
+ * Durations of the last start of the web server, by platform level and for the slowest components
+ */
+public class StartupMonitor implements Monitor {
+
+  private static final int SLOWEST_COMPONENTS = 20;
+
+  private final StartupDurations startupDurations;
+
+  public StartupMonitor(Platform platform) {
+    this.startupDurations = platform.getStartupDurations();
+  }
+
+  @Override
+  public String name() {
+    return "Startup";
+  }
+
+  @Override
+  public Map<String, Object> attributes() {
+    Map<String, Object> attributes = new LinkedHashMap<>();
+    attributes.put("Levels (ms)", startupDurations.levels());
+    attributes.put("Slowest Components (ms)", startupDurations.slowestComponents(SLOWEST_COMPONENTS));
+    return attributes;
+  }
+}
@@ -151,8 +151,11 @@ import org.sonar.server.platform.monitoring.EsMonitor;
 import org.sonar.server.platform.monitoring.JvmPropsMonitor;
 import org.sonar.server.platform.monitoring.PluginsMonitor;
 import org.sonar.server.platform.monitoring.ProcessSystemInfoClient;
+import org.sonar.server.platform.monitoring.ReferenceDataCachesMonitor;
 import org.sonar.server.platform.monitoring.SettingsMonitor;
+import org.sonar.server.platform.monitoring.StartupMonitor;
 import org.sonar.server.platform.monitoring.SonarQubeMonitor;
+import org.sonar.server.platform.monitoring.SqlStatisticsMonitor;
 import org.sonar.server.platform.monitoring.SystemMonitor;
 import org.sonar.server.platform.ws.ChangeLogLevelAction;
 import org.sonar.server.platform.ws.DbMigrationStatusAction;
@@ -238,6 +241,7 @@ import org.sonar.server.rule.RubyRuleService;
 import org.sonar.server.rule.RuleCreator;
 import org.sonar.server.rule.RuleDefinitionsLoader;
 import org.sonar.server.rule.RuleDeleter;
+import org.sonar.server.rule.RuleDtoCache;
 import org.sonar.server.rule.RuleOperations;
 import org.sonar.server.rule.RuleRepositories;
 import org.sonar.server.rule.RuleService;
@@ -279,6 +283,7 @@ import org.sonar.server.user.GroupMembershipFinder;
 import org.sonar.server.user.GroupMembershipService;
 import org.sonar.server.user.NewUserNotifier;
 import org.sonar.server.user.SecurityRealmFactory;
+import org.sonar.server.user.UserDtoCache;
 import org.sonar.server.user.UserUpdater;
 import org.sonar.server.user.index.UserIndex;
 import org.sonar.server.user.index.UserIndexDefinition;
@@ -414,6 +419,7 @@ public class PlatformLevel4 extends PlatformLevel {
       // rule
       RuleIndexDefinition.class,
       RuleIndexer.class,
+      RuleDtoCache.class,
       AnnotationRuleParser.class,
       XMLRuleParser.class,
       DefaultRuleFinder.class,
@@ -505,6 +511,7 @@ public class PlatformLevel4 extends PlatformLevel {
       DefaultUserService.class,
       UserIndexDefinition.class,
       UserIndexer.class,
+      UserDtoCache.class,
       UserIndex.class,
       UserUpdater.class,
       UsersWsModule.class,
@@ -642,6 +649,9 @@ public class PlatformLevel4 extends PlatformLevel {
       PluginsMonitor.class,
       JvmPropsMonitor.class,
       DatabaseMonitor.class,
+      ReferenceDataCachesMonitor.class,
+      StartupMonitor.class,
+      SqlStatisticsMonitor.class,
       MigrateDbAction.class,
       LogsAction.class,
       ChangeLogLevelAction.class,
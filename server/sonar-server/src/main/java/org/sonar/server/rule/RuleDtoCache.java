@@ -0,0 +1,109 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.rule;
+
+import java.util.Date;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.server.ServerSide;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.rule.RuleDto;
+import org.sonar.server.util.cache.ReferenceDataCache;
+
+/**
+ * Rules loaded by web services that return many issues, for example api/issues/search.
+ * Cache is cleared by {@link org.sonar.server.rule.index.RuleIndexer}, which is called
+ * each time rules are created or updated.
+ */
+@ServerSide
+public class RuleDtoCache extends ReferenceDataCache<RuleKey, RuleDto> {
+
+  private static final long MAX_SIZE = 10_000L;
+  private static final long DURATION_IN_MINUTES = 10L;
+
+  private final DbClient dbClient;
+
+  public RuleDtoCache(DbClient dbClient) {
+    this(dbClient, MAX_SIZE, DURATION_IN_MINUTES);
+  }
+
+  private RuleDtoCache(DbClient dbClient, long maxSize, long durationInMinutes) {
+    super(maxSize, durationInMinutes);
+    this.dbClient = dbClient;
+  }
+
+  /**
+   * Cache that never keeps rules. Used when components are instantiated without container.
+   */
+  public static RuleDtoCache disabled(DbClient dbClient) {
+    return new RuleDtoCache(dbClient, 0L, 0L);
+  }
+
+  @Override
+  protected List<RuleDto> load(DbSession dbSession, List<RuleKey> keys) {
+    return dbClient.ruleDao().selectByKeys(dbSession, keys);
+  }
+
+  @Override
+  protected RuleKey keyOf(RuleDto rule) {
+    return rule.getKey();
+  }
+
+  @Override
+  protected RuleDto copy(RuleDto rule) {
+    return new RuleDto()
+      .setId(rule.getId())
+      .setRepositoryKey(rule.getRepositoryKey())
+      .setRuleKey(rule.getRuleKey())
+      .setDescription(rule.getDescription())
+      .setDescriptionFormat(rule.getDescriptionFormat())
+      .setStatus(rule.getStatus())
+      .setName(rule.getName())
+      .setConfigKey(rule.getConfigKey())
+      .setSeverity(rule.getSeverity())
+      .setIsTemplate(rule.isTemplate())
+      .setLanguage(rule.getLanguage())
+      .setTemplateId(rule.getTemplateId())
+      .setNoteData(rule.getNoteData())
+      .setNoteUserLogin(rule.getNoteUserLogin())
+      .setNoteCreatedAt(copyOf(rule.getNoteCreatedAt()))
+      .setNoteUpdatedAt(copyOf(rule.getNoteUpdatedAt()))
+      .setRemediationFunction(rule.getRemediationFunction())
+      .setDefaultRemediationFunction(rule.getDefaultRemediationFunction())
+      .setRemediationGapMultiplier(rule.getRemediationGapMultiplier())
+      .setDefaultRemediationGapMultiplier(rule.getDefaultRemediationGapMultiplier())
+      .setRemediationBaseEffort(rule.getRemediationBaseEffort())
+      .setDefaultRemediationBaseEffort(rule.getDefaultRemediationBaseEffort())
+      .setGapDescription(rule.getGapDescription())
+      .setTags(rule.getTags())
+      .setSystemTags(rule.getSystemTags())
+      .setType(rule.getType())
+      .setCreatedAt(rule.getCreatedAt())
+      .setUpdatedAt(rule.getUpdatedAt());
+  }
+
+  @CheckForNull
+  private static Date copyOf(@Nullable Date date) {
+    return date == null ? null : new Date(date.getTime());
+  }
+}
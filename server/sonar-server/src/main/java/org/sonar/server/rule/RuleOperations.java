@@ -59,8 +59,8 @@ public class RuleOperations {
         ruleChange.debtRemediationOffset(),
         session);
       if (needUpdate) {
-        ruleIndexer.index();
         session.commit();
+        ruleIndexer.index();
       }
     } catch (IllegalArgumentException e) {
       throw new BadRequestException(e.getMessage());
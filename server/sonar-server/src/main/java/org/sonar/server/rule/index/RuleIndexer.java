@@ -26,6 +26,7 @@ import org.sonar.db.DbSession;
 import org.sonar.server.es.BaseIndexer;
 import org.sonar.server.es.BulkIndexer;
 import org.sonar.server.es.EsClient;
+import org.sonar.server.rule.RuleDtoCache;
 
 import static org.sonar.server.rule.index.RuleIndexDefinition.FIELD_RULE_UPDATED_AT;
 import static org.sonar.server.rule.index.RuleIndexDefinition.INDEX;
@@ -34,19 +35,28 @@ import static org.sonar.server.rule.index.RuleIndexDefinition.TYPE_RULE;
 public class RuleIndexer extends BaseIndexer {
 
   private final DbClient dbClient;
+  private final RuleDtoCache ruleDtoCache;
 
   public RuleIndexer(DbClient dbClient, EsClient esClient) {
+    this(dbClient, esClient, RuleDtoCache.disabled(dbClient));
+  }
+
+  public RuleIndexer(DbClient dbClient, EsClient esClient, RuleDtoCache ruleDtoCache) {
     super(esClient, 300, INDEX, TYPE_RULE, FIELD_RULE_UPDATED_AT);
     this.dbClient = dbClient;
+    this.ruleDtoCache = ruleDtoCache;
   }
 
   @Override
   protected long doIndex(long lastUpdatedAt) {
-    return doIndex(createBulkIndexer(false), lastUpdatedAt);
+    long maxDate = doIndex(createBulkIndexer(false), lastUpdatedAt);
+    ruleDtoCache.invalidate();
+    return maxDate;
   }
 
   public void index(Iterator<RuleDoc> rules) {
     doIndex(createBulkIndexer(false), rules);
+    ruleDtoCache.invalidate();
   }
 
   private long doIndex(BulkIndexer bulk, long lastUpdatedAt) {
@@ -19,28 +19,33 @@
  */
 package org.sonar.server.source;
 
-import com.google.common.collect.Lists;
-
+import com.google.common.primitives.Ints;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Opening tags and offsets of closing tags are appended while loading, then sorted once
+ * when decoration starts. Sort is stable, so tags that start at the same offset keep
+ * their loading order.
+ */
 class DecorationDataHolder {
 
   private static final String ENTITY_SEPARATOR = ";";
   private static final String FIELD_SEPARATOR = ",";
   private static final String SYMBOL_PREFIX = "sym-";
   private static final String HIGHLIGHTABLE = "sym";
+  private static final int INITIAL_CAPACITY = 16;
+  private static final Comparator<OpeningHtmlTag> BY_START_OFFSET = (tag1, tag2) -> Integer.compare(tag1.getStartOffset(), tag2.getStartOffset());
 
-  private List<OpeningHtmlTag> openingTagsEntries;
+  private final List<OpeningHtmlTag> openingTagsEntries = new ArrayList<>();
   private int openingTagsIndex;
-  private List<Integer> closingTagsOffsets;
+  private int[] closingTagsOffsets = new int[INITIAL_CAPACITY];
+  private int closingTagsCount;
   private int closingTagsIndex;
-
-  DecorationDataHolder() {
-    openingTagsEntries = Lists.newArrayList();
-    closingTagsOffsets = Lists.newArrayList();
-  }
+  private boolean sorted = true;
 
   void loadSymbolReferences(String symbolsReferences) {
     String[] symbols = symbolsReferences.split(ENTITY_SEPARATOR);
@@ -62,7 +67,7 @@ class DecorationDataHolder {
       int endOffset = Integer.parseInt(symbolFields[1]);
       int symbolLength = endOffset - startOffset;
       int symbolId = Integer.parseInt(symbolFields[2]);
-      loadSymbolOccurrences(symbolId, symbolLength, new String[] { Integer.toString(startOffset) });
+      addSymbolOccurrence(symbolId, startOffset, symbolLength);
     }
   }
 
@@ -74,17 +79,18 @@ class DecorationDataHolder {
       int startOffset = Integer.parseInt(ruleFields[0]);
       int endOffset = Integer.parseInt(ruleFields[1]);
       if (startOffset < endOffset) {
-        insertAndPreserveOrder(new OpeningHtmlTag(startOffset, ruleFields[2]), openingTagsEntries);
-        insertAndPreserveOrder(endOffset, closingTagsOffsets);
+        addTag(new OpeningHtmlTag(startOffset, ruleFields[2]), endOffset);
       }
     }
   }
 
   List<OpeningHtmlTag> getOpeningTagsEntries() {
+    sortIfNeeded();
     return openingTagsEntries;
   }
 
   OpeningHtmlTag getCurrentOpeningTagEntry() {
+    sortIfNeeded();
     return openingTagsIndex < openingTagsEntries.size() ? openingTagsEntries.get(openingTagsIndex) : null;
   }
 
@@ -93,11 +99,13 @@ class DecorationDataHolder {
   }
 
   List<Integer> getClosingTagsOffsets() {
-    return closingTagsOffsets;
+    sortIfNeeded();
+    return Ints.asList(Arrays.copyOf(closingTagsOffsets, closingTagsCount));
   }
 
   int getCurrentClosingTagOffset() {
-    return closingTagsIndex < closingTagsOffsets.size() ? closingTagsOffsets.get(closingTagsIndex) : -1;
+    sortIfNeeded();
+    return closingTagsIndex < closingTagsCount ? closingTagsOffsets[closingTagsIndex] : -1;
   }
 
   void nextClosingTagOffset() {
@@ -106,28 +114,29 @@ class DecorationDataHolder {
 
   private void loadSymbolOccurrences(int declarationStartOffset, int symbolLength, String[] symbolOccurrences) {
     for (String symbolOccurrence : symbolOccurrences) {
-      int occurrenceStartOffset = Integer.parseInt(symbolOccurrence);
-      int occurrenceEndOffset = occurrenceStartOffset + symbolLength;
-      insertAndPreserveOrder(new OpeningHtmlTag(occurrenceStartOffset, SYMBOL_PREFIX + declarationStartOffset + " " + HIGHLIGHTABLE), openingTagsEntries);
-      insertAndPreserveOrder(occurrenceEndOffset, closingTagsOffsets);
+      addSymbolOccurrence(declarationStartOffset, Integer.parseInt(symbolOccurrence), symbolLength);
     }
   }
 
-  private void insertAndPreserveOrder(OpeningHtmlTag newEntry, List<OpeningHtmlTag> openingHtmlTags) {
-    int insertionIndex = 0;
-    Iterator<OpeningHtmlTag> tagIterator = openingHtmlTags.iterator();
-    while (tagIterator.hasNext() && tagIterator.next().getStartOffset() <= newEntry.getStartOffset()) {
-      insertionIndex++;
+  private void addSymbolOccurrence(int declarationStartOffset, int occurrenceStartOffset, int symbolLength) {
+    addTag(new OpeningHtmlTag(occurrenceStartOffset, SYMBOL_PREFIX + declarationStartOffset + " " + HIGHLIGHTABLE), occurrenceStartOffset + symbolLength);
+  }
+
+  private void addTag(OpeningHtmlTag openingTag, int closingOffset) {
+    openingTagsEntries.add(openingTag);
+    if (closingTagsCount == closingTagsOffsets.length) {
+      closingTagsOffsets = Arrays.copyOf(closingTagsOffsets, closingTagsCount * 2);
     }
-    openingHtmlTags.add(insertionIndex, newEntry);
+    closingTagsOffsets[closingTagsCount] = closingOffset;
+    closingTagsCount++;
+    sorted = false;
   }
 
-  private void insertAndPreserveOrder(int newOffset, List<Integer> orderedOffsets) {
-    int insertionIndex = 0;
-    Iterator<Integer> entriesIterator = orderedOffsets.iterator();
-    while (entriesIterator.hasNext() && entriesIterator.next() <= newOffset) {
-      insertionIndex++;
+  private void sortIfNeeded() {
+    if (!sorted) {
+      Collections.sort(openingTagsEntries, BY_START_OFFSET);
+      Arrays.sort(closingTagsOffsets, 0, closingTagsCount);
+      sorted = true;
     }
-    orderedOffsets.add(insertionIndex, newOffset);
   }
 }
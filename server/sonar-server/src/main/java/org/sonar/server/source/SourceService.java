@@ -23,7 +23,6 @@ import com.google.common.base.Function;
 import com.google.common.base.Functions;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 import javax.annotation.Nonnull;
 import org.sonar.db.DbClient;
@@ -69,11 +68,7 @@ public class SourceService {
     if (dto == null) {
       return Optional.absent();
     }
-    DbFileSources.Data data = dto.getSourceData();
-    return Optional.of(FluentIterable.from(data.getLinesList())
-      .filter(new IsGreaterOrEqualThanLine(from))
-      .limit(toInclusive - from + 1)
-      .transform(function));
+    return Optional.of(FluentIterable.from(dto.getSourceLines(from, toInclusive)).transform(function));
   }
 
   private static void verifyLine(int line) {
@@ -92,17 +87,4 @@ public class SourceService {
     }
 
   }
-
-  private static class IsGreaterOrEqualThanLine implements Predicate<DbFileSources.Line> {
-    private final int from;
-
-    IsGreaterOrEqualThanLine(int from) {
-      this.from = from;
-    }
-
-    @Override
-    public boolean apply(@Nonnull DbFileSources.Line line) {
-      return line.hasLine() && line.getLine() >= from;
-    }
-  }
 }
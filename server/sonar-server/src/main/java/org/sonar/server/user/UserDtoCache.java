@@ -0,0 +1,85 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.user;
+
+import java.util.List;
+import org.sonar.api.server.ServerSide;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.user.UserDto;
+import org.sonar.server.util.cache.ReferenceDataCache;
+
+/**
+ * Users loaded by web services that return many issues, for example api/issues/search.
+ * Cache is cleared by {@link org.sonar.server.user.index.UserIndexer}, which is called
+ * each time users are created, updated or deactivated.
+ */
+@ServerSide
+public class UserDtoCache extends ReferenceDataCache<String, UserDto> {
+
+  private static final long MAX_SIZE = 10_000L;
+  private static final long DURATION_IN_MINUTES = 10L;
+
+  private final DbClient dbClient;
+
+  public UserDtoCache(DbClient dbClient) {
+    this(dbClient, MAX_SIZE, DURATION_IN_MINUTES);
+  }
+
+  private UserDtoCache(DbClient dbClient, long maxSize, long durationInMinutes) {
+    super(maxSize, durationInMinutes);
+    this.dbClient = dbClient;
+  }
+
+  /**
+   * Cache that never keeps users. Used when components are instantiated without container.
+   */
+  public static UserDtoCache disabled(DbClient dbClient) {
+    return new UserDtoCache(dbClient, 0L, 0L);
+  }
+
+  @Override
+  protected List<UserDto> load(DbSession dbSession, List<String> logins) {
+    return dbClient.userDao().selectByLogins(dbSession, logins);
+  }
+
+  @Override
+  protected String keyOf(UserDto user) {
+    return user.getLogin();
+  }
+
+  @Override
+  protected UserDto copy(UserDto user) {
+    return new UserDto()
+      .setId(user.getId())
+      .setLogin(user.getLogin())
+      .setName(user.getName())
+      .setEmail(user.getEmail())
+      .setActive(user.isActive())
+      .setScmAccounts(user.getScmAccounts())
+      .setExternalIdentity(user.getExternalIdentity())
+      .setExternalIdentityProvider(user.getExternalIdentityProvider())
+      .setLocal(user.isLocal())
+      .setCryptedPassword(user.getCryptedPassword())
+      .setSalt(user.getSalt())
+      .setCreatedAt(user.getCreatedAt())
+      .setUpdatedAt(user.getUpdatedAt());
+  }
+}
@@ -26,14 +26,21 @@ import org.sonar.db.DbSession;
 import org.sonar.server.es.BaseIndexer;
 import org.sonar.server.es.BulkIndexer;
 import org.sonar.server.es.EsClient;
+import org.sonar.server.user.UserDtoCache;
 
 public class UserIndexer extends BaseIndexer {
 
   private final DbClient dbClient;
+  private final UserDtoCache userDtoCache;
 
   public UserIndexer(DbClient dbClient, EsClient esClient) {
+    this(dbClient, esClient, UserDtoCache.disabled(dbClient));
+  }
+
+  public UserIndexer(DbClient dbClient, EsClient esClient, UserDtoCache userDtoCache) {
     super(esClient, 300, UserIndexDefinition.INDEX, UserIndexDefinition.TYPE_USER, UserIndexDefinition.FIELD_UPDATED_AT);
     this.dbClient = dbClient;
+    this.userDtoCache = userDtoCache;
   }
 
   @Override
@@ -46,6 +53,7 @@ public class UserIndexer extends BaseIndexer {
       UserResultSetIterator rowIt = UserResultSetIterator.create(dbClient, dbSession, lastUpdatedAt);
       long maxUpdatedAt = doIndex(bulk, rowIt);
       rowIt.close();
+      userDtoCache.invalidate();
       return maxUpdatedAt;
     } finally {
       dbSession.close();
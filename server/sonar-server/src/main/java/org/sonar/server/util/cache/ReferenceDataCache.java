@@ -0,0 +1,116 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.util.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sonar.db.DbSession;
+
+/**
+ * Size-bounded in-memory cache of rows that rarely change, like rules or users, shared by all the requests.
+ * Contrary to {@link MemoryCache}, it lives as long as the server. Implementations must be
+ * invalidated by the components that update the rows.
+ * <p/>
+ * Values are mutable DTOs, so callers always get copies of the cached values.
+ */
+public abstract class ReferenceDataCache<K, V> {
+
+  private final Cache<K, V> cache;
+  private final AtomicLong generation = new AtomicLong();
+
+  protected ReferenceDataCache(long maxSize, long durationInMinutes) {
+    this.cache = CacheBuilder.newBuilder()
+      .maximumSize(maxSize)
+      .expireAfterWrite(durationInMinutes, TimeUnit.MINUTES)
+      .recordStats()
+      .build();
+  }
+
+  /**
+   * Get the values associated with keys. Missing values are loaded from database with a single
+   * request. Keys that do not exist in database are ignored.
+   */
+  public List<V> getAll(DbSession dbSession, Collection<K> keys) {
+    // rows loaded before an invalidation may be outdated, so they must not be cached
+    long loadGeneration = generation.get();
+    List<V> result = new ArrayList<>(keys.size());
+    List<K> missingKeys = new ArrayList<>();
+    for (K key : keys) {
+      V value = cache.getIfPresent(key);
+      if (value == null) {
+        missingKeys.add(key);
+      } else {
+        result.add(copy(value));
+      }
+    }
+    if (!missingKeys.isEmpty()) {
+      List<V> loadedValues = load(dbSession, missingKeys);
+      for (V value : loadedValues) {
+        result.add(copy(value));
+      }
+      cacheLoadedValues(loadedValues, loadGeneration);
+    }
+    return result;
+  }
+
+  private void cacheLoadedValues(List<V> loadedValues, long loadGeneration) {
+    if (generation.get() != loadGeneration) {
+      return;
+    }
+    List<K> keys = new ArrayList<>(loadedValues.size());
+    for (V value : loadedValues) {
+      K key = keyOf(value);
+      keys.add(key);
+      cache.put(key, value);
+    }
+    if (generation.get() != loadGeneration) {
+      // invalidated while values were being put
+      cache.invalidateAll(keys);
+    }
+  }
+
+  public void invalidate() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  protected abstract List<V> load(DbSession dbSession, List<K> keys);
+
+  protected abstract K keyOf(V value);
+
+  /**
+   * Copy of the value, so that callers can not alter the cached one
+   */
+  protected abstract V copy(V value);
+}
@@ -103,6 +103,21 @@ public class TomcatConnectorsTest {
     }));
   }
 
+  @Test
+  public void compress_protobuf_responses() {
+    Props props = new Props(new Properties());
+
+    TomcatConnectors.configure(tomcat, props);
+
+    verify(tomcat).setConnector(argThat(new ArgumentMatcher<Connector>() {
+      @Override
+      public boolean matches(Object o) {
+        Connector c = (Connector) o;
+        return "on".equals(c.getProperty("compression")) && c.getProperty("compressableMimeType").toString().contains("application/x-protobuf");
+      }
+    }));
+  }
+
   @Test
   public void fail_if_http_connectors_are_disabled() {
     Properties p = new Properties();
@@ -43,6 +43,17 @@ public class DbIdsRepositoryImplTest {
     assertThat(cache.getComponentId(SOME_COMPONENT)).isEqualTo(10L);
   }
 
+  @Test
+  public void add_and_get_component_ids_of_large_refs() {
+    Component file = ReportComponent.builder(Component.Type.FILE, 5_000).setKey("FILE_KEY").build();
+    DbIdsRepositoryImpl cache = new DbIdsRepositoryImpl();
+    cache.setComponentId(SOME_COMPONENT, 10L);
+    cache.setComponentId(file, 20L);
+
+    assertThat(cache.getComponentId(SOME_COMPONENT)).isEqualTo(10L);
+    assertThat(cache.getComponentId(file)).isEqualTo(20L);
+  }
+
   @Test
   public void fail_to_get_component_id_on_unknown_ref() {
     thrown.expect(IllegalStateException.class);
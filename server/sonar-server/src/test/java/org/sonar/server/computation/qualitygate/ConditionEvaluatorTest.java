@@ -36,6 +36,7 @@ import static java.util.Arrays.asList;
 import static org.junit.Assert.fail;
 import static org.sonar.server.computation.measure.Measure.Level.ERROR;
 import static org.sonar.server.computation.measure.Measure.Level.OK;
+import static org.sonar.server.computation.measure.Measure.Level.WARN;
 import static org.sonar.server.computation.measure.Measure.newMeasureBuilder;
 import static org.sonar.server.computation.metric.Metric.MetricType;
 import static org.sonar.server.computation.qualitygate.Condition.Operator.EQUALS;
@@ -94,6 +95,16 @@ public class ConditionEvaluatorTest {
     assertThat(underTest.evaluate(createErrorCondition(metric, EQUALS, "10.1"), measure)).hasLevel(OK).hasValue(10.2d);
   }
 
+  @Test
+  public void evaluate_same_condition_against_several_measures() {
+    Metric metric = createMetric(MetricType.INT);
+    Condition condition = new Condition(metric, GREATER_THAN.getDbValue(), "20", "10", null);
+
+    assertThat(underTest.evaluate(condition, newMeasureBuilder().create(5, null))).hasLevel(OK).hasValue(5);
+    assertThat(underTest.evaluate(condition, newMeasureBuilder().create(15, null))).hasLevel(WARN).hasValue(15);
+    assertThat(underTest.evaluate(condition, newMeasureBuilder().create(25, null))).hasLevel(ERROR).hasValue(25);
+  }
+
   @Test
   public void testEquals_for_String() {
     Metric metric = createMetric(MetricType.STRING);
@@ -57,6 +57,17 @@ public class SourceLinesRepositoryImplTest {
     assertThat(underTest.readLines(FILE)).containsOnly("line1", "line2");
   }
 
+  @Test
+  public void number_of_lines_is_read_once_from_report() throws Exception {
+    reportReader.putComponent(createFileBatchComponent(2));
+    reportReader.putFileSourceLines(FILE_REF, "line1", "line2");
+    consume(underTest.readLines(FILE));
+
+    reportReader.putComponent(createFileBatchComponent(3));
+
+    assertThat(underTest.readLines(FILE)).containsOnly("line1", "line2");
+  }
+
   @Test
   public void read_lines_adds_one_extra_empty_line_when_sourceLine_has_elements_count_equals_to_lineCount_minus_1() throws Exception {
     reportReader.putComponent(createFileBatchComponent(3));
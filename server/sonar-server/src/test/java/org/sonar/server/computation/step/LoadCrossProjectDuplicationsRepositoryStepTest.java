@@ -258,6 +258,50 @@ public class LoadCrossProjectDuplicationsRepositoryStepTest {
         .build());
   }
 
+  @Test
+  public void call_compute_cpd_on_each_file_with_its_own_duplications() throws Exception {
+    Component secondFile = ReportComponent.builder(FILE, 3)
+      .setKey("SECOND_FILE_KEY")
+      .setFileAttributes(new FileAttributes(false, XOO_LANGUAGE))
+      .build();
+    treeRootHolder.setRoot(ReportComponent.builder(PROJECT, PROJECT_REF).addChildren(CURRENT_FILE, secondFile).build());
+    when(crossProjectDuplicationStatusHolder.isEnabled()).thenReturn(true);
+    analysisMetadataHolder.setBaseProjectSnapshot(baseProjectSnapshot);
+
+    ComponentDto otherProject = createProject("OTHER_PROJECT_KEY");
+    SnapshotDto otherProjectSnapshot = createProjectSnapshot(otherProject);
+    ComponentDto otherFile = createFile("OTHER_FILE_KEY", otherProject);
+
+    String hash1 = "a8998353e96320ec";
+    String hash2 = "b1234353e96320ff";
+    for (String hash : asList(hash1, hash2)) {
+      dbClient.duplicationDao().insert(dbSession, new DuplicationUnitDto()
+        .setHash(hash)
+        .setStartLine(40)
+        .setEndLine(55)
+        .setIndexInFile(0)
+        .setAnalysisUuid(otherProjectSnapshot.getUuid())
+        .setComponentUuid(otherFile.uuid()));
+    }
+    dbSession.commit();
+
+    batchReportReader.putDuplicationBlocks(FILE_REF, asList(ScannerReport.CpdTextBlock.newBuilder()
+      .setHash(hash1).setStartLine(30).setEndLine(45).setStartTokenIndex(0).setEndTokenIndex(10).build()));
+    batchReportReader.putDuplicationBlocks(3, asList(ScannerReport.CpdTextBlock.newBuilder()
+      .setHash(hash2).setStartLine(10).setEndLine(25).setStartTokenIndex(0).setEndTokenIndex(10).build()));
+
+    underTest.execute();
+
+    Class<ArrayList<Block>> listClass = (Class<ArrayList<Block>>) (Class) ArrayList.class;
+    ArgumentCaptor<ArrayList<Block>> originBlocks = ArgumentCaptor.forClass(listClass);
+    ArgumentCaptor<ArrayList<Block>> duplicationBlocks = ArgumentCaptor.forClass(listClass);
+
+    verify(integrateCrossProjectDuplications).computeCpd(eq(CURRENT_FILE), originBlocks.capture(), duplicationBlocks.capture());
+    assertThat(duplicationBlocks.getValue()).extracting("blockHash").containsOnly(new ByteArray(hash1));
+    verify(integrateCrossProjectDuplications).computeCpd(eq(secondFile), originBlocks.capture(), duplicationBlocks.capture());
+    assertThat(duplicationBlocks.getValue()).extracting("blockHash").containsOnly(new ByteArray(hash2));
+  }
+
   @Test
   public void nothing_to_do_when_cross_project_duplication_is_disabled() throws Exception {
     when(crossProjectDuplicationStatusHolder.isEnabled()).thenReturn(false);
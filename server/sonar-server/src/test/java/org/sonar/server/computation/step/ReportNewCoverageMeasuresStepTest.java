@@ -223,6 +223,40 @@ public class ReportNewCoverageMeasuresStepTest {
     assertThat(measureRepository.getAddedRawMeasures(FILE_COMPONENT.getReportAttributes().getRef())).isEmpty();
   }
 
+  @Test
+  public void no_measures_for_FILE_component_changed_before_all_periods() {
+    treeRootHolder.setRoot(FILE_COMPONENT);
+    scmInfoRepository.setScmInfo(FILE_1_REF,
+      Changeset.newChangesetBuilder().setDate(parseDate("2007-01-15").getTime()).setRevision("rev-1").build(),
+      Changeset.newChangesetBuilder().setDate(parseDate("2009-12-24").getTime()).setRevision("rev-2").build()
+      );
+    measureRepository.addRawMeasure(FILE_1_REF, COVERAGE_LINE_HITS_DATA_KEY, newMeasureBuilder().create("1=0;2=1"));
+    measureRepository.addRawMeasure(FILE_1_REF, CoreMetrics.IT_COVERAGE_LINE_HITS_DATA_KEY, newMeasureBuilder().create("1=0;2=1"));
+    measureRepository.addRawMeasure(FILE_1_REF, CoreMetrics.OVERALL_COVERAGE_LINE_HITS_DATA_KEY, newMeasureBuilder().create("1=0;2=1"));
+
+    underTest.execute();
+
+    assertThat(measureRepository.getAddedRawMeasures(FILE_1_REF)).isEmpty();
+  }
+
+  @Test
+  public void compute_measures_for_FILE_component_with_a_single_recent_line() {
+    treeRootHolder.setRoot(FILE_COMPONENT);
+    scmInfoRepository.setScmInfo(FILE_1_REF,
+      Changeset.newChangesetBuilder().setDate(parseDate("2007-01-15").getTime()).setRevision("rev-1").build(),
+      Changeset.newChangesetBuilder().setDate(parseDate("2007-01-15").getTime()).setRevision("rev-1").build(),
+      Changeset.newChangesetBuilder().setDate(parseDate("2011-03-01").getTime()).setRevision("rev-2").build()
+      );
+    measureRepository.addRawMeasure(FILE_1_REF, COVERAGE_LINE_HITS_DATA_KEY, newMeasureBuilder().create("1=0;2=1;3=0"));
+
+    underTest.execute();
+
+    assertThat(toEntries(measureRepository.getAddedRawMeasures(FILE_1_REF))).contains(
+      entryOf(NEW_LINES_TO_COVER_KEY, createMeasure(1d, 1d)),
+      entryOf(NEW_UNCOVERED_LINES_KEY, createMeasure(1d, 1d))
+      );
+  }
+
   @Test
   public void no_measures_for_FILE_component_without_CoverageData() {
     ReportComponent fileComponent = ReportComponent.builder(Component.Type.FILE, FILE_1_REF).setFileAttributes(new FileAttributes(false, null)).build();
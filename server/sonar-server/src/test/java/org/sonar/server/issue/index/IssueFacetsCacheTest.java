@@ -0,0 +1,102 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.issue.index;
+
+import java.util.LinkedHashMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.sonar.server.es.Facets;
+import org.sonar.server.issue.IssueQuery;
+import org.sonar.server.tester.UserSessionRule;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class IssueFacetsCacheTest {
+
+  @Rule
+  public UserSessionRule userSession = UserSessionRule.standalone();
+
+  IssueFacetsCache underTest = new IssueFacetsCache();
+
+  @Test
+  public void sort_and_order_of_values_are_not_part_of_key() {
+    IssueQuery query = IssueQuery.builder(userSession).severities(asList("MAJOR", "BLOCKER")).sort(IssueQuery.SORT_BY_CREATION_DATE).build();
+    IssueQuery sameCriteria = IssueQuery.builder(userSession).severities(asList("BLOCKER", "MAJOR")).sort(IssueQuery.SORT_BY_SEVERITY).build();
+
+    underTest.put(underTest.key(query, asList("severities", "rules")), newFacets());
+
+    Facets facets = underTest.get(underTest.key(sameCriteria, asList("rules", "severities")));
+    assertThat(facets).isNotNull();
+    assertThat(facets.get("severities")).containsOnly(entry("MAJOR", 3L));
+  }
+
+  @Test
+  public void criteria_and_facets_are_part_of_key() {
+    IssueQuery query = IssueQuery.builder(userSession).severities(asList("MAJOR")).build();
+    underTest.put(underTest.key(query, asList("severities")), newFacets());
+
+    assertThat(underTest.get(underTest.key(IssueQuery.builder(userSession).severities(asList("MINOR")).build(), asList("severities")))).isNull();
+    assertThat(underTest.get(underTest.key(query, asList("rules")))).isNull();
+  }
+
+  @Test
+  public void returned_facets_can_be_altered() {
+    IssueQuery query = IssueQuery.builder(userSession).build();
+    String key = underTest.key(query, asList("severities"));
+    underTest.put(key, newFacets());
+
+    underTest.get(key).get("severities").put("BLOCKER", 0L);
+
+    assertThat(underTest.get(key).get("severities")).containsOnly(entry("MAJOR", 3L));
+  }
+
+  @Test
+  public void invalidate_clears_cache_and_keys_computed_before() {
+    IssueQuery query = IssueQuery.builder(userSession).build();
+    String key = underTest.key(query, asList("severities"));
+    underTest.put(key, newFacets());
+
+    underTest.invalidate();
+    assertThat(underTest.get(key)).isNull();
+
+    // facets computed by a search started before invalidation
+    underTest.put(key, newFacets());
+    assertThat(underTest.get(underTest.key(query, asList("severities")))).isNull();
+  }
+
+  @Test
+  public void disabled_cache_never_keeps_facets() {
+    IssueFacetsCache disabled = IssueFacetsCache.disabled();
+    String key = disabled.key(IssueQuery.builder(userSession).build(), asList("severities"));
+    disabled.put(key, newFacets());
+
+    assertThat(disabled.get(key)).isNull();
+  }
+
+  private static Facets newFacets() {
+    LinkedHashMap<String, Long> severities = new LinkedHashMap<>();
+    severities.put("MAJOR", 3L);
+    LinkedHashMap<String, LinkedHashMap<String, Long>> facets = new LinkedHashMap<>();
+    facets.put("severities", severities);
+    return new Facets(facets);
+  }
+}
@@ -22,6 +22,7 @@ package org.sonar.server.issue.index;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -56,6 +57,7 @@ import org.sonar.server.view.index.ViewIndexDefinition;
 import org.sonar.server.view.index.ViewIndexer;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
@@ -76,6 +78,7 @@ public class IssueIndexTest {
 
   IssueIndex underTest;
 
+  System2 system = mock(System2.class);
   IssueIndexer issueIndexer;
   IssueAuthorizationIndexer issueAuthorizationIndexer;
   ViewIndexer viewIndexer;
@@ -85,7 +88,6 @@ public class IssueIndexTest {
     issueIndexer = new IssueIndexer(null, tester.client());
     issueAuthorizationIndexer = new IssueAuthorizationIndexer(null, tester.client());
     viewIndexer = new ViewIndexer(null, tester.client());
-    System2 system = mock(System2.class);
     when(system.getDefaultTimeZone()).thenReturn(TimeZone.getTimeZone("GMT-1:00"));
     when(system.now()).thenReturn(System.currentTimeMillis());
 
@@ -870,6 +872,24 @@ public class IssueIndexTest {
     assertThat(createdAt).isNull();
   }
 
+  @Test
+  public void do_not_reuse_cached_facet_on_created_at_without_end_bound() {
+    underTest = new IssueIndex(tester.client(), system, userSessionRule, new IssueFacetsCache());
+    ComponentDto file = ComponentTesting.newFileDto(ComponentTesting.newProjectDto());
+    indexIssues(IssueTesting.newDoc("ISSUE1", file).setSeverity(Severity.MAJOR).setFuncCreationDate(parseDateTime("2014-09-01T12:34:56+0100")));
+    SearchOptions options = new SearchOptions().addFacets(asList("severities", "createdAt"));
+    IssueQuery openEndedQuery = IssueQuery.builder(userSessionRule).build();
+    IssueQuery boundedQuery = IssueQuery.builder(userSessionRule).createdBefore(parseDateTime("2015-01-01T00:00:00+0100")).build();
+    underTest.search(openEndedQuery, options);
+    underTest.search(boundedQuery, options);
+
+    // not visible by the cache, as indexer is not bound to it
+    indexIssues(IssueTesting.newDoc("ISSUE2", file).setSeverity(Severity.MAJOR).setFuncCreationDate(parseDateTime("2014-09-02T12:34:56+0100")));
+
+    assertThat(underTest.search(openEndedQuery, options).getFacets().get("severities")).containsEntry(Severity.MAJOR, 2L);
+    assertThat(underTest.search(boundedQuery, options).getFacets().get("severities")).containsEntry(Severity.MAJOR, 1L);
+  }
+
   private SearchOptions fixtureForCreatedAtFacet() {
     ComponentDto project = ComponentTesting.newProjectDto();
     ComponentDto file = ComponentTesting.newFileDto(project);
@@ -1188,6 +1208,26 @@ public class IssueIndexTest {
     assertThat(underTest.search(IssueQuery.builder(userSessionRule).build(), new SearchOptions()).getDocs()).hasSize(1);
   }
 
+  @Test
+  public void authorized_issues_on_many_projects() {
+    ComponentDto project1 = ComponentTesting.newProjectDto().setKey("project1");
+    ComponentDto project2 = ComponentTesting.newProjectDto().setKey("project2");
+    indexIssue(IssueTesting.newDoc("ISSUE1", ComponentTesting.newFileDto(project1)), "sonar-users", null);
+    indexIssue(IssueTesting.newDoc("ISSUE2", ComponentTesting.newFileDto(project2)), "sonar-admins", null);
+
+    // too many authorized projects to be filtered by project uuids
+    List<IssueAuthorizationDao.Dto> authorizations = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      authorizations.add(new IssueAuthorizationDao.Dto("PROJECT_" + i, 1).addGroup("sonar-users"));
+    }
+    issueAuthorizationIndexer.index(authorizations);
+
+    userSessionRule.login().setUserGroups("sonar-users");
+    assertThat(underTest.search(IssueQuery.builder(userSessionRule).build(), new SearchOptions()).getDocs())
+      .extracting(IssueDoc::key)
+      .containsOnly("ISSUE1");
+  }
+
   @Test
   public void search_issues_for_batch_return_needed_fields() {
     ComponentDto project = ComponentTesting.newProjectDto("PROJECT");
@@ -0,0 +1,128 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.issue.ws;
+
+import java.util.EnumSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.db.DbClient;
+import org.sonar.db.DbSession;
+import org.sonar.db.component.ComponentDao;
+import org.sonar.db.component.ComponentDto;
+import org.sonar.db.issue.IssueDao;
+import org.sonar.db.issue.IssueDto;
+import org.sonar.db.rule.RuleDto;
+import org.sonar.db.user.UserDto;
+import org.sonar.server.issue.ActionService;
+import org.sonar.server.issue.IssueCommentService;
+import org.sonar.server.issue.IssueService;
+import org.sonar.server.rule.RuleDtoCache;
+import org.sonar.server.user.UserDtoCache;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.sonar.server.issue.ws.SearchAdditionalField.RULES;
+import static org.sonar.server.issue.ws.SearchAdditionalField.USERS;
+
+public class SearchResponseLoaderTest {
+
+  private static final RuleKey RULE_KEY = RuleKey.of("squid", "S001");
+
+  DbClient dbClient = mock(DbClient.class);
+  DbSession dbSession = mock(DbSession.class);
+  IssueDao issueDao = mock(IssueDao.class);
+  ComponentDao componentDao = mock(ComponentDao.class);
+  RuleDtoCache ruleDtoCache = mock(RuleDtoCache.class);
+  UserDtoCache userDtoCache = mock(UserDtoCache.class);
+
+  SearchResponseLoader underTest = new SearchResponseLoader(dbClient, mock(IssueService.class), mock(ActionService.class), mock(IssueCommentService.class),
+    ruleDtoCache, userDtoCache);
+
+  @Before
+  public void setUp() {
+    when(dbClient.openSession(false)).thenReturn(dbSession);
+    when(dbClient.issueDao()).thenReturn(issueDao);
+    when(dbClient.componentDao()).thenReturn(componentDao);
+  }
+
+  @Test
+  public void load_rules_and_users_from_caches() {
+    mockIssueOn("FILE", "PROJECT");
+    RuleDto rule = new RuleDto().setRepositoryKey(RULE_KEY.repository()).setRuleKey(RULE_KEY.rule());
+    UserDto user = new UserDto().setLogin("simon");
+    when(ruleDtoCache.getAll(dbSession, singletonList(RULE_KEY))).thenReturn(singletonList(rule));
+    when(userDtoCache.getAll(dbSession, singletonList("simon"))).thenReturn(singletonList(user));
+
+    SearchResponseData result = underTest.load(newCollector(EnumSet.of(RULES, USERS)), null);
+
+    assertThat(result.getRules()).containsExactly(rule);
+    assertThat(result.getUsers()).containsExactly(user);
+    verify(dbClient, never()).ruleDao();
+    verify(dbClient, never()).userDao();
+  }
+
+  @Test
+  public void do_not_load_again_projects_already_loaded_as_components() {
+    mockIssueOn("PROJECT", "PROJECT");
+    ComponentDto project = new ComponentDto().setUuid("PROJECT").setProjectUuid("PROJECT");
+    when(componentDao.selectByUuids(dbSession, newHashSet("PROJECT"))).thenReturn(singletonList(project));
+
+    SearchResponseData result = underTest.load(newCollector(EnumSet.noneOf(SearchAdditionalField.class)), null);
+
+    assertThat(result.getComponentByUuid("PROJECT")).isSameAs(project);
+    verify(componentDao).selectByUuids(eq(dbSession), anyCollection());
+  }
+
+  @Test
+  public void load_projects_which_are_not_components_of_issues() {
+    mockIssueOn("FILE", "PROJECT");
+    ComponentDto file = new ComponentDto().setUuid("FILE").setProjectUuid("PROJECT");
+    ComponentDto project = new ComponentDto().setUuid("PROJECT").setProjectUuid("PROJECT");
+    when(componentDao.selectByUuids(dbSession, newHashSet("FILE"))).thenReturn(singletonList(file));
+    when(componentDao.selectByUuids(dbSession, newHashSet("PROJECT"))).thenReturn(singletonList(project));
+
+    SearchResponseData result = underTest.load(newCollector(EnumSet.noneOf(SearchAdditionalField.class)), null);
+
+    assertThat(result.getComponentByUuid("FILE")).isSameAs(file);
+    assertThat(result.getComponentByUuid("PROJECT")).isSameAs(project);
+  }
+
+  private void mockIssueOn(String componentUuid, String projectUuid) {
+    IssueDto issue = new IssueDto()
+      .setKee("ISSUE1")
+      .setComponentUuid(componentUuid)
+      .setProjectUuid(projectUuid)
+      .setRuleKey(RULE_KEY.repository(), RULE_KEY.rule())
+      .setAssignee("simon");
+    when(issueDao.selectByOrderedKeys(dbSession, singletonList("ISSUE1"))).thenReturn(singletonList(issue));
+  }
+
+  private static SearchResponseLoader.Collector newCollector(EnumSet<SearchAdditionalField> fields) {
+    return new SearchResponseLoader.Collector(fields, singletonList("ISSUE1"));
+  }
+}
@@ -24,9 +24,12 @@ import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.*;
 
 public class MeasureFilterEngineTest {
@@ -68,4 +71,47 @@ public class MeasureFilterEngineTest {
     assertThat(result.getError()).isEqualTo(MeasureFilterResult.Error.UNKNOWN);
     assertThat(result.getRows()).isNull();
   }
+
+  @Test
+  public void reuse_rows_of_same_filter_executed_by_same_user() throws Exception {
+    Map<String, Object> filterMap = ImmutableMap.of("qualifiers", (Object) "TRK");
+    MeasureFilterFactory factory = mock(MeasureFilterFactory.class);
+    MeasureFilter filter = new MeasureFilter();
+    when(factory.create(filterMap)).thenReturn(filter);
+    MeasureFilterExecutor executor = mock(MeasureFilterExecutor.class);
+    when(executor.execute(eq(filter), any(MeasureFilterContext.class))).thenReturn(Collections.<MeasureFilterRow>emptyList());
+
+    MeasureFilterEngine engine = new MeasureFilterEngine(factory, executor);
+    engine.execute(filterMap, 50L);
+    MeasureFilterResult result = engine.execute(filterMap, 50L);
+
+    assertThat(result.isSuccess()).isTrue();
+    assertThat(result.getRows()).isEmpty();
+    verify(executor, times(1)).execute(eq(filter), any(MeasureFilterContext.class));
+
+    engine.execute(filterMap, 51L);
+    verify(executor, times(2)).execute(eq(filter), any(MeasureFilterContext.class));
+  }
+
+  @Test
+  public void cached_rows_can_not_be_altered() throws Exception {
+    Map<String, Object> filterMap = ImmutableMap.of("qualifiers", (Object) "TRK");
+    MeasureFilterFactory factory = mock(MeasureFilterFactory.class);
+    MeasureFilter filter = new MeasureFilter();
+    when(factory.create(filterMap)).thenReturn(filter);
+    MeasureFilterExecutor executor = mock(MeasureFilterExecutor.class);
+    MeasureFilterRow row = new MeasureFilterRow("P1", "P1");
+    when(executor.execute(eq(filter), any(MeasureFilterContext.class))).thenReturn(new ArrayList<>(Collections.singletonList(row)));
+
+    MeasureFilterEngine engine = new MeasureFilterEngine(factory, executor);
+    MeasureFilterResult result = engine.execute(filterMap, 50L);
+
+    try {
+      result.getRows().clear();
+      fail();
+    } catch (UnsupportedOperationException e) {
+      // expected
+    }
+    assertThat(engine.execute(filterMap, 50L).getRows()).containsExactly(row);
+  }
 }
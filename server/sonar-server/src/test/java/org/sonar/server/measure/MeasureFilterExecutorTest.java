@@ -279,6 +279,27 @@ public class MeasureFilterExecutorTest {
     verifyPhpProject(rows.get(1));
   }
 
+  @Test
+  public void numeric_measures_are_sorted_by_database() throws SQLException {
+    db.prepareDbUnit(getClass(), "shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(asList("TRK"))
+      .setSortOnMetric(METRIC_COVERAGE).setSortAsc(false);
+    MeasureFilterContext context = new MeasureFilterContext();
+    executor.execute(filter, context);
+
+    assertThat(context.getSql()).contains("order by case when pmsort.value is null then 1 else 0 end, pmsort.value desc");
+  }
+
+  @Test
+  public void texts_are_not_sorted_by_database() throws SQLException {
+    db.prepareDbUnit(getClass(), "shared.xml");
+    MeasureFilter filter = new MeasureFilter().setResourceQualifiers(asList("TRK")).setSortOn(MeasureFilterSort.Field.NAME);
+    MeasureFilterContext context = new MeasureFilterContext();
+    executor.execute(filter, context);
+
+    assertThat(context.getSql()).doesNotContain("order by");
+  }
+
   @Test
   public void sort_by_missing_numeric_measure() throws SQLException {
     db.prepareDbUnit(getClass(), "shared.xml");
@@ -21,6 +21,9 @@ package org.sonar.server.notification;
 
 import com.google.common.collect.Sets;
 import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -29,11 +32,13 @@ import org.sonar.api.notifications.Notification;
 import org.sonar.api.notifications.NotificationChannel;
 import org.sonar.db.DbClient;
 import org.sonar.db.property.PropertiesDao;
+import org.sonar.server.notification.email.EmailNotificationChannel;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.same;
@@ -198,6 +203,67 @@ public class NotificationServiceTest {
     verify(gtalkChannel, never()).deliver(any(Notification.class), anyString());
   }
 
+  @Test
+  public void deliver_to_other_recipients_when_delivery_fails_for_one() {
+    setUpMocks();
+    doAnswer(addUser(ASSIGNEE_SIMON, emailChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    doAnswer(addUser(CREATOR_EVGENY, emailChannel)).when(commentOnIssueCreatedByMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    doThrow(new IllegalStateException("SMTP server is down")).when(emailChannel).deliver(notification, ASSIGNEE_SIMON);
+
+    service.start();
+    verify(emailChannel, timeout(2000)).deliver(notification, ASSIGNEE_SIMON);
+    verify(emailChannel, timeout(2000)).deliver(notification, CREATOR_EVGENY);
+    service.stop();
+  }
+
+  @Test
+  public void deliver_emails_concurrently() throws InterruptedException {
+    setUpMocks();
+    EmailNotificationChannel smtpChannel = mock(EmailNotificationChannel.class);
+    doAnswer(addUser(ASSIGNEE_SIMON, smtpChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    doAnswer(addUser(CREATOR_EVGENY, smtpChannel)).when(commentOnIssueCreatedByMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    CountDownLatch started = new CountDownLatch(2);
+    CountDownLatch released = new CountDownLatch(1);
+    // each delivery is blocked until both recipients are being served
+    doAnswer(invocation -> {
+      started.countDown();
+      released.await(2, TimeUnit.SECONDS);
+      return null;
+    }).when(smtpChannel).deliver(same(notification), anyString());
+
+    service.start();
+    try {
+      assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      released.countDown();
+      service.stop();
+    }
+    verify(smtpChannel).deliver(notification, ASSIGNEE_SIMON);
+    verify(smtpChannel).deliver(notification, CREATOR_EVGENY);
+  }
+
+  @Test
+  public void deliver_sequentially_via_channels_of_plugins() {
+    setUpMocks();
+    doAnswer(addUser(ASSIGNEE_SIMON, gtalkChannel)).when(commentOnIssueAssignedToMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    doAnswer(addUser(CREATOR_EVGENY, gtalkChannel)).when(commentOnIssueCreatedByMe).dispatch(same(notification), any(NotificationDispatcher.Context.class));
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    doAnswer(invocation -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      Thread.sleep(50);
+      running.decrementAndGet();
+      return null;
+    }).when(gtalkChannel).deliver(same(notification), anyString());
+
+    service.start();
+    verify(gtalkChannel, timeout(2000)).deliver(notification, ASSIGNEE_SIMON);
+    verify(gtalkChannel, timeout(2000)).deliver(notification, CREATOR_EVGENY);
+    service.stop();
+
+    assertThat(maxRunning.get()).isEqualTo(1);
+  }
+
   @Test
   public void getDispatchers() {
     setUpMocks();
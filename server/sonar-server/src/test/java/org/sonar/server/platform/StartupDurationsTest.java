@@ -0,0 +1,67 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class StartupDurationsTest {
+
+  StartupDurations underTest = new StartupDurations();
+
+  @Test
+  public void record_start_of_components() throws Exception {
+    underTest.componentMonitor().invoked(null, null, FastComponent.class.getMethod("start"), new FastComponent(), 5L, new Object[0], null);
+    underTest.componentMonitor().invoked(null, null, SlowComponent.class.getMethod("start"), new SlowComponent(), 500L, new Object[0], null);
+    underTest.componentMonitor().invoked(null, null, SlowComponent.class.getMethod("stop"), new SlowComponent(), 800L, new Object[0], null);
+
+    assertThat(underTest.slowestComponents(10)).containsExactly(
+      entry(SlowComponent.class.getName(), 500L),
+      entry(FastComponent.class.getName(), 5L));
+    assertThat(underTest.slowestComponents(1)).containsExactly(entry(SlowComponent.class.getName(), 500L));
+  }
+
+  @Test
+  public void levels_are_ordered_by_last_start() {
+    underTest.recordLevel("level1", 10L);
+    underTest.recordLevel("level2", 20L);
+    underTest.recordLevel("level1", 30L);
+
+    assertThat(underTest.levels()).containsExactly(entry("level2", 20L), entry("level1", 30L));
+  }
+
+  public static class FastComponent {
+    public void start() {
+      // nothing to do
+    }
+  }
+
+  public static class SlowComponent {
+    public void start() {
+      // nothing to do
+    }
+
+    public void stop() {
+      // nothing to do
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import java.util.Map;
+import org.junit.Test;
+import org.sonar.db.DbClient;
+import org.sonar.db.MyBatis;
+import org.sonar.db.profiling.SqlStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SqlStatisticsMonitorTest {
+
+  SqlStatistics sqlStatistics = new SqlStatistics();
+
+  @Test
+  public void name() {
+    assertThat(newMonitor().name()).isEqualTo("Database Statements");
+  }
+
+  @Test
+  public void attributes() {
+    sqlStatistics.record("IssueMapper.selectByKey", 10_500_000L, 1);
+    sqlStatistics.record("IssueMapper.selectByKey", 30_000_000L, 1);
+
+    Map<String, Object> attributes = newMonitor().attributes();
+
+    assertThat(attributes).hasSize(1);
+    assertThat((Map<String, Object>) attributes.get("IssueMapper.selectByKey")).containsExactly(
+      entry("Calls", 2L),
+      entry("Total (ms)", 40L),
+      entry("Average (ms)", 20.25d),
+      entry("Max (ms)", 30L),
+      entry("Rows", 2L));
+  }
+
+  private SqlStatisticsMonitor newMonitor() {
+    DbClient dbClient = mock(DbClient.class);
+    MyBatis myBatis = mock(MyBatis.class);
+    when(dbClient.getMyBatis()).thenReturn(myBatis);
+    when(myBatis.getSqlStatistics()).thenReturn(sqlStatistics);
+    return new SqlStatisticsMonitor(dbClient);
+  }
+}
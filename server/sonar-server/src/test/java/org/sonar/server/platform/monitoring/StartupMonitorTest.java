@@ -0,0 +1,57 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.platform.monitoring;
+
+import java.util.Map;
+import org.junit.Test;
+import org.sonar.server.platform.Platform;
+import org.sonar.server.platform.StartupDurations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class StartupMonitorTest {
+
+  StartupDurations startupDurations = new StartupDurations();
+
+  @Test
+  public void name() {
+    assertThat(newMonitor().name()).isEqualTo("Startup");
+  }
+
+  @Test
+  public void attributes() {
+    startupDurations.recordLevel("level1", 100L);
+    startupDurations.recordComponent("org.sonar.Foo", 40L);
+
+    Map<String, Object> attributes = newMonitor().attributes();
+
+    assertThat((Map<String, Long>) attributes.get("Levels (ms)")).containsExactly(entry("level1", 100L));
+    assertThat((Map<String, Long>) attributes.get("Slowest Components (ms)")).containsExactly(entry("org.sonar.Foo", 40L));
+  }
+
+  private StartupMonitor newMonitor() {
+    Platform platform = mock(Platform.class);
+    when(platform.getStartupDurations()).thenReturn(startupDurations);
+    return new StartupMonitor(platform);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.server.util.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.sonar.db.DbSession;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ReferenceDataCacheTest {
+
+  DbSession dbSession = mock(DbSession.class);
+  FakeCache underTest = new FakeCache();
+
+  @Test
+  public void load_only_missing_keys() {
+    assertThat(underTest.getAll(dbSession, asList("a", "b"))).containsOnly("A", "B");
+    assertThat(underTest.getAll(dbSession, asList("b", "c"))).containsOnly("B", "C");
+
+    assertThat(underTest.loadedKeys).containsExactly(asList("a", "b"), asList("c"));
+    assertThat(underTest.stats().hitCount()).isEqualTo(1L);
+    assertThat(underTest.stats().missCount()).isEqualTo(3L);
+    assertThat(underTest.size()).isEqualTo(3L);
+  }
+
+  @Test
+  public void ignore_keys_that_do_not_exist() {
+    assertThat(underTest.getAll(dbSession, asList("a", "unknown"))).containsOnly("A");
+  }
+
+  @Test
+  public void invalidate() {
+    underTest.getAll(dbSession, asList("a"));
+    underTest.invalidate();
+    underTest.getAll(dbSession, asList("a"));
+
+    assertThat(underTest.loadedKeys).containsExactly(asList("a"), asList("a"));
+  }
+
+  @Test
+  public void do_not_cache_values_loaded_before_invalidation() {
+    underTest.duringLoad = underTest::invalidate;
+    assertThat(underTest.getAll(dbSession, asList("a"))).containsOnly("A");
+
+    underTest.duringLoad = () -> {
+    };
+    assertThat(underTest.getAll(dbSession, asList("a"))).containsOnly("A");
+    assertThat(underTest.loadedKeys).containsExactly(asList("a"), asList("a"));
+    assertThat(underTest.size()).isEqualTo(1L);
+  }
+
+  @Test
+  public void return_copies_of_cached_values() {
+    String loaded = underTest.getAll(dbSession, asList("a")).get(0);
+    String cached = underTest.getAll(dbSession, asList("a")).get(0);
+
+    assertThat(cached).isEqualTo(loaded).isNotSameAs(loaded);
+  }
+
+  private static class FakeCache extends ReferenceDataCache<String, String> {
+    private final List<List<String>> loadedKeys = new ArrayList<>();
+    private Runnable duringLoad = () -> {
+    };
+
+    FakeCache() {
+      super(10L, 10L);
+    }
+
+    @Override
+    protected List<String> load(DbSession dbSession, List<String> keys) {
+      loadedKeys.add(new ArrayList<>(keys));
+      duringLoad.run();
+      List<String> values = new ArrayList<>();
+      for (String key : keys) {
+        if (!"unknown".equals(key)) {
+          values.add(key.toUpperCase());
+        }
+      }
+      return values;
+    }
+
+    @Override
+    protected String keyOf(String value) {
+      return value.toLowerCase();
+    }
+
+    @Override
+    protected String copy(String value) {
+      return new String(value);
+    }
+  }
+}
@@ -23,13 +23,19 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableSet;
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import org.apache.commons.lang.SystemUtils;
 import org.sonar.api.Plugin;
+import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.api.utils.log.Profiler;
+import org.sonar.core.util.ConcurrentTasks;
 import org.sonar.updatecenter.common.Version;
 
 import static java.util.Arrays.asList;
@@ -50,6 +56,8 @@ import static java.util.Arrays.asList;
  */
 public class PluginLoader {
 
+  private static final Logger LOG = Loggers.get(PluginLoader.class);
+  private static final int MAX_EXPLODING_THREADS = 4;
   private static final String[] DEFAULT_SHARED_RESOURCES = {"org/sonar/plugins", "com/sonar/plugins", "com/sonarsource/plugins"};
   /**
    * Defines the base keys (defined by {@link #basePluginKey(PluginInfo, Map)}) of the plugins which are allowed to
@@ -80,6 +88,7 @@ public class PluginLoader {
   @VisibleForTesting
   Collection<PluginClassLoaderDef> defineClassloaders(Map<String, PluginInfo> infoByKeys) {
     Map<String, PluginClassLoaderDef> classloadersByBasePlugin = new HashMap<>();
+    Map<String, ExplodedPlugin> explodedPluginsByKey = explode(infoByKeys.values());
 
     for (PluginInfo info : infoByKeys.values()) {
       String baseKey = basePluginKey(info, infoByKeys);
@@ -88,7 +97,7 @@ public class PluginLoader {
         def = new PluginClassLoaderDef(baseKey);
         classloadersByBasePlugin.put(baseKey, def);
       }
-      ExplodedPlugin explodedPlugin = jarExploder.explode(info);
+      ExplodedPlugin explodedPlugin = explodedPluginsByKey.get(info.getKey());
       def.addFiles(asList(explodedPlugin.getMain()));
       def.addFiles(explodedPlugin.getLibs());
       def.addMainClass(info.getKey(), info.getMainClass());
@@ -106,7 +115,7 @@ public class PluginLoader {
         def.setCompatibilityMode(compatibilityMode);
         def.setPrivileged(isPrivileged(baseKey));
         if (compatibilityMode) {
-          Loggers.get(getClass()).debug("API compatibility mode is enabled on plugin {} [{}] " +
+          LOG.debug("API compatibility mode is enabled on plugin {} [{}] " +
             "(built with API lower than {})",
             info.getName(), info.getKey(), COMPATIBILITY_MODE_MAX_VERSION);
         }
@@ -115,6 +124,31 @@ public class PluginLoader {
     return classloadersByBasePlugin.values();
   }
 
+  /**
+   * JAR files are exploded concurrently, as it's mostly about copying and unzipping files.
+   */
+  private Map<String, ExplodedPlugin> explode(Collection<PluginInfo> infos) {
+    List<PluginInfo> orderedInfos = new ArrayList<>(infos);
+    List<Callable<ExplodedPlugin>> tasks = new ArrayList<>(orderedInfos.size());
+    for (PluginInfo info : orderedInfos) {
+      tasks.add(() -> explode(info));
+    }
+    List<ExplodedPlugin> explodedPlugins = ConcurrentTasks.executeAll("PluginJarExploder-%d", MAX_EXPLODING_THREADS, tasks);
+
+    Map<String, ExplodedPlugin> explodedPluginsByKey = new HashMap<>();
+    for (int i = 0; i < orderedInfos.size(); i++) {
+      explodedPluginsByKey.put(orderedInfos.get(i).getKey(), explodedPlugins.get(i));
+    }
+    return explodedPluginsByKey;
+  }
+
+  private ExplodedPlugin explode(PluginInfo info) {
+    Profiler profiler = Profiler.createIfDebug(LOG).start();
+    ExplodedPlugin explodedPlugin = jarExploder.explode(info);
+    profiler.stopDebug(String.format("Explode plugin %s [%s]", info.getName(), info.getKey()));
+    return explodedPlugin;
+  }
+
   private static boolean isPrivileged(String basePluginKey) {
     return PRIVILEGED_PLUGINS_BASE_KEYS.contains(basePluginKey);
   }
@@ -138,7 +172,9 @@ public class PluginLoader {
         String pluginKey = mainClassEntry.getKey();
         String mainClass = mainClassEntry.getValue();
         try {
+          Profiler profiler = Profiler.createIfDebug(LOG).start();
           instancesByPluginKey.put(pluginKey, (Plugin) classLoader.loadClass(mainClass).newInstance());
+          profiler.stopDebug(String.format("Instantiate plugin [%s]", pluginKey));
         } catch (UnsupportedClassVersionError e) {
           throw new IllegalStateException(String.format("The plugin [%s] does not support Java %s",
             pluginKey, SystemUtils.JAVA_VERSION_TRIMMED), e);
@@ -158,7 +194,7 @@ public class PluginLoader {
         try {
           ((Closeable) classLoader).close();
         } catch (Exception e) {
-          Loggers.get(getClass()).error("Fail to close classloader " + classLoader.toString(), e);
+          LOG.error("Fail to close classloader " + classLoader.toString(), e);
         }
       }
     }
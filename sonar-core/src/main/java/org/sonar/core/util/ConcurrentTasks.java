@@ -0,0 +1,95 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.core.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes independent tasks, for example I/O calls, on a short-lived pool of daemon threads.
+ */
+public class ConcurrentTasks {
+
+  private ConcurrentTasks() {
+    // only static methods
+  }
+
+  /**
+   * Executes the tasks with at most {@code maxThreads} threads named after {@code threadNameFormat}
+   * (see {@link ThreadFactoryBuilder#setNameFormat(String)}), and waits for all of them. A single task is executed
+   * in the current thread.
+   *
+   * @return the results, in the same order as the tasks
+   * @throws RuntimeException the exception thrown by the first failed task, as is. Checked exceptions are wrapped
+   * in {@link IllegalStateException}.
+   */
+  public static <T> List<T> executeAll(String threadNameFormat, int maxThreads, List<Callable<T>> tasks) {
+    List<T> results = new ArrayList<>(tasks.size());
+    if (tasks.size() <= 1) {
+      for (Callable<T> task : tasks) {
+        results.add(call(task));
+      }
+      return results;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxThreads, tasks.size()),
+      new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build());
+    try {
+      List<Future<T>> futures = new ArrayList<>(tasks.size());
+      for (Callable<T> task : tasks) {
+        futures.add(executor.submit(task));
+      }
+      for (Future<T> future : futures) {
+        results.add(waitFor(future));
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static <T> T call(Callable<T> task) {
+    try {
+      return task.call();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static <T> T waitFor(Future<T> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      // Unwrap ExecutionException
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for tasks", e);
+    }
+  }
+}
@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.assertj.core.data.MapEntry;
@@ -176,6 +177,45 @@ public class PluginLoaderTest {
     assertThat(defs).extracting("compatibilityMode").containsOnly(false, false);
   }
 
+  @Test
+  public void define_classloaders_of_several_plugins() throws Exception {
+    Map<String, PluginInfo> infosByKey = new HashMap<>();
+    for (int i = 0; i < 6; i++) {
+      PluginInfo info = create52PluginInfo("plugin" + i);
+      infosByKey.put(info.getKey(), info);
+    }
+
+    Collection<PluginClassLoaderDef> defs = loader.defineClassloaders(infosByKey);
+
+    assertThat(defs).hasSize(6);
+    for (PluginClassLoaderDef def : defs) {
+      PluginInfo info = infosByKey.get(def.getBasePluginKey());
+      assertThat(def.getFiles()).containsOnly(info.getNonNullJarFile());
+      assertThat(def.getMainClassesByPluginKey()).containsOnly(entry(info.getKey(), info.getMainClass()));
+    }
+  }
+
+  @Test
+  public void propagate_failure_of_exploder_as_is() throws Exception {
+    PluginJarExploder failingExploder = new FakePluginExploder() {
+      @Override
+      public ExplodedPlugin explode(PluginInfo info) {
+        if (info.getKey().equals("bar")) {
+          throw new UnsupportedOperationException("Fail to explode bar");
+        }
+        return super.explode(info);
+      }
+    };
+    loader = new PluginLoader(failingExploder, classloaderFactory);
+
+    try {
+      loader.defineClassloaders(ImmutableMap.of("foo", create52PluginInfo("foo"), "bar", create52PluginInfo("bar"), "baz", create52PluginInfo("baz")));
+      fail();
+    } catch (UnsupportedOperationException e) {
+      assertThat(e).hasMessage("Fail to explode bar");
+    }
+  }
+
   private PluginInfo create52PluginInfo(String pluginKey) throws IOException {
     File jarFile = temp.newFile();
     return new PluginInfo(pluginKey)
@@ -0,0 +1,83 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.core.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.sonar.test.TestUtils;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+
+public class ConcurrentTasksTest {
+
+  @Rule
+  public ExpectedException expectedException = ExpectedException.none();
+
+  @Test
+  public void return_results_in_order_of_tasks() {
+    List<Callable<Integer>> tasks = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      int value = i;
+      tasks.add(() -> value);
+    }
+
+    assertThat(ConcurrentTasks.executeAll("test-%d", 3, tasks)).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+  }
+
+  @Test
+  public void execute_single_task_in_current_thread() {
+    Thread currentThread = Thread.currentThread();
+
+    assertThat(ConcurrentTasks.executeAll("test-%d", 3, singletonList(Thread::currentThread))).containsExactly(currentThread);
+  }
+
+  @Test
+  public void propagate_runtime_exception_as_is() {
+    expectedException.expect(UnsupportedOperationException.class);
+    expectedException.expectMessage("failure");
+
+    ConcurrentTasks.executeAll("test-%d", 3, asList(() -> 1, () -> {
+      throw new UnsupportedOperationException("failure");
+    }));
+  }
+
+  @Test
+  public void wrap_checked_exception() {
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectCause(instanceOf(IOException.class));
+
+    ConcurrentTasks.executeAll("test-%d", 3, asList(() -> 1, () -> {
+      throw new IOException("failure");
+    }));
+  }
+
+  @Test
+  public void constructor_is_private() {
+    TestUtils.hasOnlyPrivateConstructors(ConcurrentTasks.class);
+  }
+}
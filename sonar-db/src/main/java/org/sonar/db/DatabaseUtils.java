@@ -39,12 +39,15 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.db.dialect.MsSql;
+import org.sonar.db.dialect.Oracle;
 
 import static com.google.common.collect.Lists.newArrayList;
 
 public class DatabaseUtils {
 
   public static final int PARTITION_SIZE_FOR_ORACLE = 1000;
+  public static final int LARGE_PARTITION_SIZE = 10_000;
 
   public static void closeQuietly(@Nullable Connection connection) {
     if (connection != null) {
@@ -122,11 +125,36 @@ public class DatabaseUtils {
    * and with MsSQL when there's more than 2000 parameters in a query
    */
   public static <OUTPUT, INPUT extends Comparable<INPUT>> List<OUTPUT> executeLargeInputs(Collection<INPUT> input, Function<List<INPUT>, List<OUTPUT>> function) {
+    return executeLargeInputs(input, function, PARTITION_SIZE_FOR_ORACLE);
+  }
+
+  /**
+   * Same as {@link #executeLargeInputs(Collection, Function)}, except that partitions are as large as supported
+   * by the database of the session. Databases which do not limit the size of a 'in' clause (H2, MySQL and PostgreSQL)
+   * execute a single statement per {@link #LARGE_PARTITION_SIZE} elements instead of per 1000 elements.
+   *
+   * Must only be used when the partition is used a single time in the statement.
+   */
+  public static <OUTPUT, INPUT extends Comparable<INPUT>> List<OUTPUT> executeLargeInputs(DbSession session, Collection<INPUT> input,
+    Function<List<INPUT>, List<OUTPUT>> function) {
+    return executeLargeInputs(input, function, partitionSize(session));
+  }
+
+  static int partitionSize(DbSession session) {
+    String databaseId = session.getConfiguration().getDatabaseId();
+    if (Oracle.ID.equals(databaseId) || MsSql.ID.equals(databaseId)) {
+      return PARTITION_SIZE_FOR_ORACLE;
+    }
+    return LARGE_PARTITION_SIZE;
+  }
+
+  private static <OUTPUT, INPUT extends Comparable<INPUT>> List<OUTPUT> executeLargeInputs(Collection<INPUT> input, Function<List<INPUT>, List<OUTPUT>> function,
+    int partitionSize) {
     if (input.isEmpty()) {
       return Collections.emptyList();
     }
     List<OUTPUT> results = new ArrayList<>(input.size());
-    for (List<INPUT> partition : toUniqueAndSortedPartitions(input)) {
+    for (List<INPUT> partition : Iterables.partition(toUniqueAndSortedList(input), partitionSize)) {
       List<OUTPUT> subResults = function.apply(partition);
       if (subResults != null) {
         results.addAll(subResults);
@@ -135,13 +163,6 @@ public class DatabaseUtils {
     return results;
   }
 
-  /**
-   * Ensure values {@code inputs} are unique (which avoids useless arguments) and sorted before creating the partition.
-   */
-  private static <INPUT extends Comparable<INPUT>> Iterable<List<INPUT>> toUniqueAndSortedPartitions(Collection<INPUT> inputs) {
-    return Iterables.partition(toUniqueAndSortedList(inputs), PARTITION_SIZE_FOR_ORACLE);
-  }
-
   /**
    * Ensure values {@code inputs} are unique (which avoids useless arguments) and sorted so that there is little
    * variations of SQL requests over time as possible with a IN clause and/or a group of OR clauses. Such requests can
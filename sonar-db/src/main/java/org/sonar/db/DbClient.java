@@ -186,6 +186,13 @@ public class DbClient {
     return myBatis.openSession(batch);
   }
 
+  /**
+   * @see MyBatis#openBatchSession(int)
+   */
+  public DbSession openBatchSession(int batchSize) {
+    return myBatis.openBatchSession(batchSize);
+  }
+
   public void closeSession(@Nullable DbSession session) {
     MyBatis.closeQuietly(session);
   }
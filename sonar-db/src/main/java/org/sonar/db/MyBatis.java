@@ -90,6 +90,8 @@ import org.sonar.db.permission.template.PermissionTemplateUserDto;
 import org.sonar.db.permission.UserWithPermissionDto;
 import org.sonar.db.permission.template.PermissionTemplateCharacteristicDto;
 import org.sonar.db.permission.template.PermissionTemplateCharacteristicMapper;
+import org.sonar.db.profiling.SqlStatistics;
+import org.sonar.db.profiling.SqlStatisticsInterceptor;
 import org.sonar.db.property.PropertiesMapper;
 import org.sonar.db.property.PropertyDto;
 import org.sonar.db.purge.IdUuidPair;
@@ -135,6 +137,7 @@ import org.sonar.db.version.v53.Migration53Mapper;
 public class MyBatis {
 
   private final Database database;
+  private final SqlStatistics sqlStatistics = new SqlStatistics();
   private SqlSessionFactory sessionFactory;
 
   public MyBatis(Database database) {
@@ -237,6 +240,7 @@ public class MyBatis {
       Migration45Mapper.class, Migration50Mapper.class, Migration53Mapper.class
     };
     confBuilder.loadMappers(mappers);
+    confBuilder.addInterceptor(new SqlStatisticsInterceptor(sqlStatistics));
 
     sessionFactory = new SqlSessionFactoryBuilder().build(confBuilder.build());
     return this;
@@ -246,6 +250,13 @@ public class MyBatis {
     return sessionFactory;
   }
 
+  /**
+   * @since 6.0
+   */
+  public SqlStatistics getSqlStatistics() {
+    return sqlStatistics;
+  }
+
   /**
    * @deprecated since 4.4. Replaced by <code>openSession(false)</code>.
    */
@@ -266,6 +277,18 @@ public class MyBatis {
     return new DbSession(session);
   }
 
+  /**
+   * Batch session which flushes statements every {@code batchSize} statements instead of
+   * {@link BatchSession#MAX_BATCH_SIZE}. Larger batches save round-trips to database
+   * when many rows are inserted.
+   *
+   * @since 6.0
+   */
+  public DbSession openBatchSession(int batchSize) {
+    SqlSession session = sessionFactory.openSession(ExecutorType.BATCH);
+    return new BatchSession(session, batchSize);
+  }
+
   /**
    * Create a PreparedStatement for SELECT requests with scrolling of results
    */
@@ -23,6 +23,7 @@ import com.google.common.io.Closeables;
 import java.io.InputStream;
 import org.apache.ibatis.builder.xml.XMLMapperBuilder;
 import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
 import org.apache.ibatis.type.JdbcType;
@@ -102,6 +103,10 @@ public final class MyBatisConfBuilder {
     }
   }
 
+  public void addInterceptor(Interceptor interceptor) {
+    conf.addInterceptor(interceptor);
+  }
+
   public Configuration build() {
     return conf;
   }
@@ -113,7 +113,7 @@ public class ComponentDao implements Dao {
   }
 
   public List<ComponentDto> selectByUuids(DbSession session, Collection<String> uuids) {
-    return executeLargeInputs(uuids, mapper(session)::selectByUuids);
+    return executeLargeInputs(session, uuids, mapper(session)::selectByUuids);
   }
 
   public List<String> selectExistingUuids(DbSession session, Collection<String> uuids) {
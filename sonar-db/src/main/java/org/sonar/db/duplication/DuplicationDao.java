@@ -34,6 +34,7 @@ public class DuplicationDao implements Dao {
    */
   public List<DuplicationUnitDto> selectCandidates(DbSession session, @Nullable String analysisUuid, String language, Collection<String> hashes) {
     return executeLargeInputs(
+      session,
       hashes,
       partition -> session.getMapper(DuplicationMapper.class).selectCandidates(analysisUuid, language, partition));
   }
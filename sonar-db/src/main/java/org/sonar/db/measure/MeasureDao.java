@@ -82,13 +82,20 @@ public class MeasureDao implements Dao {
     }
   }
 
-  public List<PastMeasureDto> selectPastMeasures(DbSession dbSession,
+  /**
+   * Measures of a component, not related to developers, for several analyses in a single request.
+   * Measures are distinguished by {@link PastMeasureDto#getAnalysisUuid()}.
+   */
+  public List<PastMeasureDto> selectPastMeasuresOfAnalyses(DbSession dbSession,
     String componentUuid,
-    String analysisUuid,
+    Collection<String> analysisUuids,
     Collection<Integer> metricIds) {
+    if (analysisUuids.isEmpty()) {
+      return Collections.emptyList();
+    }
     return executeLargeInputs(
       metricIds,
-      ids -> mapper(dbSession).selectPastMeasures(componentUuid, analysisUuid, ids));
+      ids -> mapper(dbSession).selectPastMeasuresOfAnalyses(componentUuid, analysisUuids, ids));
   }
 
   /**
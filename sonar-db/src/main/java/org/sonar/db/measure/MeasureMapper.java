@@ -30,7 +30,8 @@ public interface MeasureMapper {
 
   void selectByQuery(@Param("query") MeasureQuery query, ResultHandler resultHandler);
 
-  List<PastMeasureDto> selectPastMeasures(@Param("componentUuid") String componentUuid, @Param("analysisUuid") String analysisUuid, @Param("metricIds") List<Integer> metricIds);
+  List<PastMeasureDto> selectPastMeasuresOfAnalyses(@Param("componentUuid") String componentUuid, @Param("analysisUuids") Collection<String> analysisUuids,
+    @Param("metricIds") List<Integer> metricIds);
 
   List<MeasureDto> selectProjectMeasuresOfDeveloper(@Param("developerId") long developerId, @Param("metricIds") Collection<Integer> metricIds);
 
@@ -34,6 +34,9 @@ public class PastMeasureDto {
   @CheckForNull
   private Long personId;
 
+  @CheckForNull
+  private String analysisUuid;
+
   public double getValue() {
     requireNonNull(value);
     return value;
@@ -67,4 +70,14 @@ public class PastMeasureDto {
     return this;
   }
 
+  @CheckForNull
+  public String getAnalysisUuid() {
+    return analysisUuid;
+  }
+
+  PastMeasureDto setAnalysisUuid(@Nullable String s) {
+    this.analysisUuid = s;
+    return this;
+  }
+
 }
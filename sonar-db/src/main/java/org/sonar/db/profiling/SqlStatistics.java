@@ -0,0 +1,116 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.db.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always-on statistics of the SQL statements executed by the process, aggregated by
+ * MyBatis statement id. Recording is lock-free so that it can be done on every call.
+ */
+public class SqlStatistics {
+
+  /**
+   * Bound of the number of distinct statements, in order to not leak memory
+   * if statement ids are generated
+   */
+  static final int MAX_STATEMENTS = 2_000;
+
+  private final ConcurrentMap<String, StatementStatistics> byStatement = new ConcurrentHashMap<>();
+
+  /**
+   * @param durationNanos duration of the execution, in nanoseconds
+   */
+  public void record(String statement, long durationNanos, int rows) {
+    StatementStatistics statistics = byStatement.get(statement);
+    if (statistics == null) {
+      if (byStatement.size() >= MAX_STATEMENTS) {
+        return;
+      }
+      statistics = byStatement.computeIfAbsent(statement, StatementStatistics::new);
+    }
+    statistics.record(durationNanos, rows);
+  }
+
+  /**
+   * Statements with the greatest cumulated durations first
+   */
+  public List<StatementStatistics> slowest(int limit) {
+    List<StatementStatistics> result = new ArrayList<>(byStatement.values());
+    result.sort(Comparator.comparingLong(StatementStatistics::getTotalDurationNanos).reversed());
+    return result.subList(0, Math.min(limit, result.size()));
+  }
+
+  public void clear() {
+    byStatement.clear();
+  }
+
+  public static class StatementStatistics {
+    private final String statement;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder totalDurationNanos = new LongAdder();
+    private final LongAccumulator maxDurationNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder rows = new LongAdder();
+
+    StatementStatistics(String statement) {
+      this.statement = statement;
+    }
+
+    void record(long durationNanos, int rowCount) {
+      calls.increment();
+      totalDurationNanos.add(durationNanos);
+      maxDurationNanos.accumulate(durationNanos);
+      if (rowCount > 0) {
+        rows.add(rowCount);
+      }
+    }
+
+    public String getStatement() {
+      return statement;
+    }
+
+    public long getCalls() {
+      return calls.sum();
+    }
+
+    public long getTotalDurationNanos() {
+      return totalDurationNanos.sum();
+    }
+
+    public long getAverageDurationNanos() {
+      long count = getCalls();
+      return count == 0L ? 0L : (getTotalDurationNanos() / count);
+    }
+
+    public long getMaxDurationNanos() {
+      return maxDurationNanos.get();
+    }
+
+    public long getRows() {
+      return rows.sum();
+    }
+  }
+}
@@ -21,6 +21,7 @@ package org.sonar.db.source;
 
 import com.google.protobuf.CodedInputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -40,6 +41,8 @@ public class FileSourceDto {
 
   private static final String SIZE_LIMIT_EXCEEDED_EXCEPTION_MESSAGE = "Protocol message was too large.  May be malicious.  " +
     "Use CodedInputStream.setSizeLimit() to increase the size limit.";
+  private static final int DATA_LINES_TAG = (DbFileSources.Data.LINES_FIELD_NUMBER << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  private static final int LINE_NUMBER_TAG = (DbFileSources.Line.LINE_FIELD_NUMBER << 3) | WireFormat.WIRETYPE_VARINT;
 
   private Long id;
   private String projectUuid;
@@ -122,6 +125,61 @@ public class FileSourceDto {
     }
   }
 
+  /**
+   * Decompress and deserialize only the lines of the range [from, toInclusive]. Lines before the range
+   * are skipped without being deserialized and the data after the range is not decompressed.
+   * Lines without number are ignored.
+   *
+   * @param from starts from 1
+   * @param toInclusive starts from 1, must be greater than or equal param {@code from}
+   */
+  public List<DbFileSources.Line> decodeSourceLines(byte[] binaryData, int from, int toInclusive) {
+    try {
+      return decodeSourceLinesInRange(binaryData, from, toInclusive);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+        format("Fail to decompress and deserialize source data [id=%s,fileUuid=%s,projectUuid=%s]", id, fileUuid, projectUuid),
+        e);
+    }
+  }
+
+  private static List<DbFileSources.Line> decodeSourceLinesInRange(byte[] binaryData, int from, int toInclusive) throws IOException {
+    int maxLines = toInclusive - from + 1;
+    List<DbFileSources.Line> lines = new ArrayList<>();
+    try (LZ4BlockInputStream lz4Input = new LZ4BlockInputStream(new ByteArrayInputStream(binaryData))) {
+      CodedInputStream input = CodedInputStream.newInstance(lz4Input);
+      input.setSizeLimit(Integer.MAX_VALUE);
+      int tag = input.readTag();
+      while (tag != 0 && lines.size() < maxLines) {
+        if (tag == DATA_LINES_TAG) {
+          int oldLimit = input.pushLimit(input.readRawVarint32());
+          DbFileSources.Line line = decodeLineIfInRange(input, from);
+          if (line != null) {
+            lines.add(line);
+          }
+          input.skipRawBytes(input.getBytesUntilLimit());
+          input.popLimit(oldLimit);
+        } else {
+          input.skipField(tag);
+        }
+        tag = input.readTag();
+      }
+    }
+    return lines;
+  }
+
+  @CheckForNull
+  private static DbFileSources.Line decodeLineIfInRange(CodedInputStream input, int from) throws IOException {
+    // fields are serialized in the order of their numbers, so line number is the first field when it's defined
+    if (input.readTag() == LINE_NUMBER_TAG) {
+      int lineNumber = input.readInt32();
+      if (lineNumber >= from) {
+        return DbFileSources.Line.newBuilder().setLine(lineNumber).mergeFrom(input).build();
+      }
+    }
+    return null;
+  }
+
   /**
    * Serialize and compress protobuf message {@link org.sonar.db.protobuf.DbFileSources.Data}
    * in the column BINARY_DATA.
@@ -212,6 +270,14 @@ public class FileSourceDto {
     return decodeSourceData(binaryData);
   }
 
+  /**
+   * Range of lines of the compressed protobuf message {@link org.sonar.db.protobuf.DbFileSources.Data}
+   * @see #decodeSourceLines(byte[], int, int)
+   */
+  public List<DbFileSources.Line> getSourceLines(int from, int toInclusive) {
+    return decodeSourceLines(binaryData, from, toInclusive);
+  }
+
   public FileSourceDto setSourceData(DbFileSources.Data data) {
     this.dataType = Type.SOURCE;
     this.binaryData = encodeSourceData(data);
@@ -31,6 +31,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import javax.annotation.Nullable;
+import org.apache.ibatis.session.Configuration;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -38,7 +39,11 @@ import org.sonar.api.utils.System2;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.db.dialect.H2;
+import org.sonar.db.dialect.MsSql;
+import org.sonar.db.dialect.MySql;
 import org.sonar.db.dialect.Oracle;
+import org.sonar.db.dialect.PostgreSql;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static java.util.Arrays.asList;
@@ -47,6 +52,7 @@ import static org.assertj.core.api.Assertions.fail;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.sonar.db.DatabaseUtils.buildLikeValue;
 import static org.sonar.db.DatabaseUtils.toUniqueAndSortedList;
 import static org.sonar.db.WildcardPosition.AFTER;
@@ -281,6 +287,40 @@ public class DatabaseUtilsTest {
     assertThat(outputs).isEqualTo(expectedOutputs);
   }
 
+  @Test
+  public void execute_large_inputs_with_partitions_supported_by_database() {
+    List<Integer> inputs = newArrayList();
+    for (int i = 0; i < 12_000; i++) {
+      inputs.add(i);
+    }
+    List<Integer> partitionSizes = newArrayList();
+
+    List<Integer> outputs = DatabaseUtils.executeLargeInputs(newSession("h2"), inputs, partition -> {
+      partitionSizes.add(partition.size());
+      return partition;
+    });
+
+    assertThat(outputs).isEqualTo(inputs);
+    assertThat(partitionSizes).containsExactly(10_000, 2_000);
+  }
+
+  @Test
+  public void partition_size_depends_on_database() {
+    assertThat(DatabaseUtils.partitionSize(newSession(Oracle.ID))).isEqualTo(1000);
+    assertThat(DatabaseUtils.partitionSize(newSession(MsSql.ID))).isEqualTo(1000);
+    assertThat(DatabaseUtils.partitionSize(newSession(PostgreSql.ID))).isEqualTo(10_000);
+    assertThat(DatabaseUtils.partitionSize(newSession(MySql.ID))).isEqualTo(10_000);
+    assertThat(DatabaseUtils.partitionSize(newSession(H2.ID))).isEqualTo(10_000);
+  }
+
+  private static DbSession newSession(String databaseId) {
+    Configuration configuration = new Configuration();
+    configuration.setDatabaseId(databaseId);
+    DbSession session = mock(DbSession.class);
+    when(session.getConfiguration()).thenReturn(configuration);
+    return session;
+  }
+
   @Test
   public void execute_large_inputs_on_empty_list() {
     List<String> outputs = DatabaseUtils.executeLargeInputs(Collections.<Integer>emptyList(), new Function<List<Integer>, List<String>>() {
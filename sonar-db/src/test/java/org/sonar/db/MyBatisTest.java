@@ -68,4 +68,18 @@ public class MyBatisTest {
       session.close();
     }
   }
+
+  @Test
+  public void shouldOpenBatchSessionWithGivenSize() {
+    MyBatis myBatis = new MyBatis(database);
+    myBatis.start();
+
+    DbSession session = myBatis.openBatchSession(1_000);
+    try {
+      assertThat(session instanceof BatchSession, Is.is(true));
+      assertThat(session.getMapper(RuleMapper.class), notNullValue());
+    } finally {
+      session.close();
+    }
+  }
 }
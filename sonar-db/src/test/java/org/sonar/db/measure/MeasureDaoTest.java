@@ -39,6 +39,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 public class MeasureDaoTest {
 
@@ -290,6 +291,30 @@ public class MeasureDaoTest {
       .containsOnly("M11", "M54");
   }
 
+  @Test
+  public void selectPastMeasuresOfAnalyses() {
+    insertAnalysis(LAST_ANALYSIS_UUID, true);
+    insertAnalysis(OTHER_ANALYSIS_UUID, false);
+    insertAnalysis(PREVIOUS_ANALYSIS_UUID, false);
+    insertMeasure("M1", LAST_ANALYSIS_UUID, "C1", NCLOC_METRIC_ID);
+    insertMeasure("M2", OTHER_ANALYSIS_UUID, "C1", NCLOC_METRIC_ID);
+    insertMeasure("M3", OTHER_ANALYSIS_UUID, "C1", COVERAGE_METRIC_ID);
+    insertMeasure("M4", PREVIOUS_ANALYSIS_UUID, "C1", NCLOC_METRIC_ID);
+    insertMeasure("M5", OTHER_ANALYSIS_UUID, "C2", NCLOC_METRIC_ID);
+    insertMeasureOnPerson("M6", OTHER_ANALYSIS_UUID, "C1", NCLOC_METRIC_ID, A_PERSON_ID);
+    db.commit();
+
+    List<PastMeasureDto> pastMeasures = underTest.selectPastMeasuresOfAnalyses(db.getSession(), "C1",
+      asList(OTHER_ANALYSIS_UUID, PREVIOUS_ANALYSIS_UUID), asList(NCLOC_METRIC_ID, COVERAGE_METRIC_ID));
+
+    assertThat(pastMeasures).extracting(PastMeasureDto::getAnalysisUuid, PastMeasureDto::getMetricId).containsOnly(
+      tuple(OTHER_ANALYSIS_UUID, NCLOC_METRIC_ID),
+      tuple(OTHER_ANALYSIS_UUID, COVERAGE_METRIC_ID),
+      tuple(PREVIOUS_ANALYSIS_UUID, NCLOC_METRIC_ID));
+    assertThat(pastMeasures).extracting(PastMeasureDto::getPersonId).containsOnly((Long) null);
+    assertThat(underTest.selectPastMeasuresOfAnalyses(db.getSession(), "C1", emptyList(), singletonList(NCLOC_METRIC_ID))).isEmpty();
+  }
+
   private Optional<MeasureDto> selectSingle(MeasureQuery.Builder query) {
     return underTest.selectSingle(db.getSession(), query.build());
   }
@@ -368,6 +393,4 @@ public class MeasureDaoTest {
       .setLast(isLast));
   }
 
-  // TODO test selectPastMeasures
-
 }
@@ -0,0 +1,77 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.db.profiling;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.Test;
+import org.sonar.db.profiling.SqlStatistics.StatementStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SqlStatisticsInterceptorTest {
+
+  SqlStatistics statistics = new SqlStatistics();
+  SqlStatisticsInterceptor underTest = new SqlStatisticsInterceptor(statistics);
+  Executor executor = mock(Executor.class);
+  MappedStatement statement = new MappedStatement.Builder(new Configuration(), "IssueMapper.update", mock(SqlSource.class), SqlCommandType.UPDATE).build();
+
+  @Test
+  public void record_rows_of_statement() throws Throwable {
+    when(executor.update(statement, "param")).thenReturn(3);
+
+    assertThat(underTest.intercept(newUpdateInvocation())).isEqualTo(3);
+
+    StatementStatistics stats = statistics.slowest(1).get(0);
+    assertThat(stats.getStatement()).isEqualTo("IssueMapper.update");
+    assertThat(stats.getCalls()).isEqualTo(1L);
+    assertThat(stats.getRows()).isEqualTo(3L);
+  }
+
+  @Test
+  public void record_failed_statement_without_rows() throws Throwable {
+    when(executor.update(statement, "param")).thenThrow(new SQLException("failure"));
+
+    try {
+      underTest.intercept(newUpdateInvocation());
+      failBecauseExceptionWasNotThrown(InvocationTargetException.class);
+    } catch (InvocationTargetException e) {
+      assertThat(e.getCause()).hasMessage("failure");
+    }
+
+    StatementStatistics stats = statistics.slowest(1).get(0);
+    assertThat(stats.getStatement()).isEqualTo("IssueMapper.update");
+    assertThat(stats.getCalls()).isEqualTo(1L);
+    assertThat(stats.getRows()).isEqualTo(0L);
+  }
+
+  private Invocation newUpdateInvocation() throws NoSuchMethodException {
+    return new Invocation(executor, Executor.class.getMethod("update", MappedStatement.class, Object.class), new Object[] {statement, "param"});
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.db.profiling;
+
+import org.junit.Test;
+import org.sonar.db.profiling.SqlStatistics.StatementStatistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatisticsTest {
+
+  SqlStatistics underTest = new SqlStatistics();
+
+  @Test
+  public void aggregate_by_statement() {
+    underTest.record("IssueMapper.selectByKey", 10L, 1);
+    underTest.record("IssueMapper.selectByKey", 30L, 1);
+    underTest.record("IssueMapper.insert", 5L, 1);
+
+    StatementStatistics select = underTest.slowest(1).get(0);
+    assertThat(select.getStatement()).isEqualTo("IssueMapper.selectByKey");
+    assertThat(select.getCalls()).isEqualTo(2L);
+    assertThat(select.getTotalDurationNanos()).isEqualTo(40L);
+    assertThat(select.getAverageDurationNanos()).isEqualTo(20L);
+    assertThat(select.getMaxDurationNanos()).isEqualTo(30L);
+    assertThat(select.getRows()).isEqualTo(2L);
+  }
+
+  @Test
+  public void sort_statements_by_total_duration() {
+    underTest.record("fast", 1L, 0);
+    underTest.record("slow", 100L, 0);
+    underTest.record("frequent", 60L, 0);
+    underTest.record("frequent", 60L, 0);
+
+    assertThat(underTest.slowest(10)).extracting(StatementStatistics::getStatement).containsExactly("frequent", "slow", "fast");
+    assertThat(underTest.slowest(1)).extracting(StatementStatistics::getStatement).containsExactly("frequent");
+  }
+
+  @Test
+  public void ignore_negative_row_counts_of_batched_statements() {
+    underTest.record("insert", 1L, -2147482646);
+
+    assertThat(underTest.slowest(1).get(0).getRows()).isEqualTo(0L);
+  }
+
+  @Test
+  public void bound_number_of_statements() {
+    for (int i = 0; i < SqlStatistics.MAX_STATEMENTS + 10; i++) {
+      underTest.record("statement" + i, 1L, 1);
+    }
+
+    assertThat(underTest.slowest(Integer.MAX_VALUE)).hasSize(SqlStatistics.MAX_STATEMENTS);
+  }
+
+  @Test
+  public void clear() {
+    underTest.record("select", 1L, 1);
+    underTest.clear();
+
+    assertThat(underTest.slowest(10)).isEmpty();
+  }
+}
@@ -80,6 +80,40 @@ public class FileSourceDtoTest {
     assertThat(data.getLinesCount()).isEqualTo(build.getLinesCount());
   }
 
+  @Test
+  public void getSourceLines_decodes_only_requested_range() {
+    DbFileSources.Data.Builder dataBuilder = DbFileSources.Data.newBuilder();
+    for (int i = 1; i <= 10; i++) {
+      dataBuilder.addLinesBuilder().setLine(i).setSource("SOURCE_" + i).setHighlighting("HIGHLIGHTING_" + i).addDuplication(i);
+    }
+    FileSourceDto underTest = new FileSourceDto().setSourceData(dataBuilder.build());
+
+    List<DbFileSources.Line> lines = underTest.getSourceLines(4, 6);
+
+    assertThat(lines).containsExactly(dataBuilder.getLines(3), dataBuilder.getLines(4), dataBuilder.getLines(5));
+    assertThat(underTest.getSourceLines(9, 20)).extracting("line").containsExactly(9, 10);
+    assertThat(underTest.getSourceLines(11, 20)).isEmpty();
+  }
+
+  @Test
+  public void getSourceLines_ignores_lines_without_number() {
+    DbFileSources.Data data = DbFileSources.Data.newBuilder()
+      .addLines(DbFileSources.Line.newBuilder().setSource("no number"))
+      .addLines(DbFileSources.Line.newBuilder().setLine(2).setSource("SOURCE_2"))
+      .build();
+    FileSourceDto underTest = new FileSourceDto().setSourceData(data);
+
+    assertThat(underTest.getSourceLines(1, 2)).extracting("source").containsExactly("SOURCE_2");
+  }
+
+  @Test
+  public void getSourceLines_reads_Data_object_bigger_than_default_size_limit() {
+    FileSourceDto underTest = new FileSourceDto().setSourceData(createOver64MBDataStructure());
+
+    List<DbFileSources.Line> lines = underTest.getSourceLines(199990, 200000);
+    assertThat(lines).extracting("line").containsExactly(199990, 199991, 199992, 199993, 199994, 199995, 199996, 199997, 199998);
+  }
+
   private static DbFileSources.Data createOver64MBDataStructure() {
     DbFileSources.Data.Builder dataBuilder = DbFileSources.Data.newBuilder();
     DbFileSources.Line.Builder lineBuilder = DbFileSources.Line.newBuilder();
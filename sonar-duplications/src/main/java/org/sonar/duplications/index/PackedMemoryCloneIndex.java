@@ -20,6 +20,7 @@
 package org.sonar.duplications.index;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -42,6 +43,11 @@ import javax.annotation.Nullable;
  * however total time spent in this class less than 1 second for small projects and around 2 seconds for projects like JDK.
  * </p>
  * <p>
+ * Blocks are stored in fixed-size pages, so that growth of the index never copies already inserted data.
+ * Once sorted, an open-addressing table maps each distinct block hash to the position of its first block,
+ * so that {@link #getBySequenceHash(ByteArray)} does not need a binary search.
+ * </p>
+ * <p>
  * Note that this implementation currently does not support deletion, however it's possible to implement.
  * </p>
  */
@@ -55,6 +61,14 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
 
   private final int blockInts;
 
+  /**
+   * Number of blocks per page is a power of two: page of block is {@code index >>> pageShift}
+   * and position in page is {@code index & pageMask}.
+   */
+  private final int pageShift;
+
+  private final int pageMask;
+
   /**
    * Indicates that index requires sorting to perform queries.
    */
@@ -65,11 +79,22 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
    */
   private int size;
 
-  private String[] resourceIds;
-  private int[] blockData;
+  /**
+   * Number of blocks, which can be stored in allocated pages.
+   */
+  private int capacity;
+
+  private String[][] resourceIdPages;
+  private int[][] blockDataPages;
 
   private int[] resourceIdsIndex;
 
+  /**
+   * Open-addressing table, which contains for each distinct hash the position of its first block plus one
+   * (zero denotes an empty slot). Built by {@link #ensureSorted()}.
+   */
+  private int[] hashTable;
+
   private final Block.Builder blockBuilder = Block.builder();
 
   public PackedMemoryCloneIndex() {
@@ -78,16 +103,20 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
 
   /**
    * @param hashBytes size of hash in bytes
-   * @param initialCapacity the initial capacity
+   * @param initialCapacity the initial capacity, also used as the number of blocks per page
    */
   public PackedMemoryCloneIndex(int hashBytes, int initialCapacity) {
     this.sorted = false;
     this.hashInts = hashBytes / 4;
     this.blockInts = hashInts + BLOCK_INTS;
     this.size = 0;
-    this.resourceIds = new String[initialCapacity];
-    this.blockData = new int[initialCapacity * blockInts];
-    this.resourceIdsIndex = new int[initialCapacity];
+    int blocksPerPage = initialCapacity <= 1 ? 1 : Integer.highestOneBit(initialCapacity - 1) << 1;
+    this.pageShift = Integer.numberOfTrailingZeros(blocksPerPage);
+    this.pageMask = blocksPerPage - 1;
+    this.capacity = blocksPerPage;
+    this.resourceIdPages = new String[][] {new String[blocksPerPage]};
+    this.blockDataPages = new int[][] {new int[blocksPerPage * blockInts]};
+    this.resourceIdsIndex = new int[blocksPerPage];
   }
 
   /**
@@ -101,14 +130,14 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
     ensureSorted();
 
     // prepare resourceId for binary search
-    resourceIds[size] = resourceId;
+    setResourceId(size, resourceId);
     resourceIdsIndex[size] = size;
 
     int index = DataUtils.binarySearch(byResourceId);
 
     List<Block> result = new ArrayList<>();
     int realIndex = resourceIdsIndex[index];
-    while (index < size && FastStringComparator.INSTANCE.compare(resourceIds[realIndex], resourceId) == 0) {
+    while (index < size && FastStringComparator.INSTANCE.compare(resourceId(realIndex), resourceId) == 0) {
       result.add(getBlock(realIndex, resourceId));
 
       index++;
@@ -118,7 +147,8 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
   }
 
   private Block createBlock(int index, String resourceId, @Nullable ByteArray byteHash) {
-    int offset = index * blockInts;
+    int[] blockData = page(index);
+    int offset = offset(index);
     ByteArray blockHash;
 
     if (byteHash == null) {
@@ -151,6 +181,22 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
     return createBlock(index, resourceId, null);
   }
 
+  private int[] page(int index) {
+    return blockDataPages[index >>> pageShift];
+  }
+
+  private int offset(int index) {
+    return (index & pageMask) * blockInts;
+  }
+
+  private String resourceId(int index) {
+    return resourceIdPages[index >>> pageShift][index & pageMask];
+  }
+
+  private void setResourceId(int index, @Nullable String resourceId) {
+    resourceIdPages[index >>> pageShift][index & pageMask] = resourceId;
+  }
+
   private class ResourceIterator implements Iterator<ResourceBlocks> {
     private int index = 0;
 
@@ -165,14 +211,14 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
         throw new NoSuchElementException();
       }
 
-      String resourceId = resourceIds[resourceIdsIndex[index]];
+      String resourceId = resourceId(resourceIdsIndex[index]);
       List<Block> blocks = new ArrayList<>();
 
       // while we are at the same resource, keep going
       do {
         blocks.add(getBlock(resourceIdsIndex[index], resourceId));
         index++;
-      } while (hasNext() && FastStringComparator.INSTANCE.compare(resourceIds[resourceIdsIndex[index]], resourceId) == 0);
+      } while (hasNext() && FastStringComparator.INSTANCE.compare(resourceId(resourceIdsIndex[index]), resourceId) == 0);
 
       return new ResourceBlocks(resourceId, blocks);
     }
@@ -215,28 +261,31 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
    */
   @Override
   public Collection<Block> getBySequenceHash(ByteArray sequenceHash) {
-    ensureSorted();
-
-    // prepare hash for binary search
-    int[] hash = sequenceHash.toIntArray();
-    if (hash.length != hashInts) {
-      throw new IllegalArgumentException("Expected " + hashInts + " ints in hash, but got " + hash.length);
-    }
-    int offset = size * blockInts;
-    for (int i = 0; i < hashInts; i++) {
-      blockData[offset++] = hash[i];
+    // hash is read directly from bytes, without conversion to an array of ints
+    byte[] hash = sequenceHash.getBytes();
+    int hashLength = (hash.length + 3) / 4;
+    if (hashLength != hashInts) {
+      throw new IllegalArgumentException("Expected " + hashInts + " ints in hash, but got " + hashLength);
     }
 
-    int index = DataUtils.binarySearch(byBlockHash);
+    ensureSorted();
 
-    List<Block> result = new ArrayList<>();
-    while (index < size && !isLessByHash(size, index)) {
-      // extract block (note that there is no need to extract hash)
-      String resourceId = resourceIds[index];
-      result.add(createBlock(index, resourceId, sequenceHash));
-      index++;
+    int mask = hashTable.length - 1;
+    int slot = hashCode(hash) & mask;
+    while (hashTable[slot] != 0) {
+      int index = hashTable[slot] - 1;
+      if (hasHash(index, hash)) {
+        List<Block> result = new ArrayList<>();
+        do {
+          // extract block (note that there is no need to extract hash)
+          result.add(createBlock(index, resourceId(index), sequenceHash));
+          index++;
+        } while (index < size && hasHash(index, hash));
+        return result;
+      }
+      slot = (slot + 1) & mask;
     }
-    return result;
+    return new ArrayList<>();
   }
 
   /**
@@ -250,13 +299,14 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
     sorted = false;
     ensureCapacity();
 
-    resourceIds[size] = block.getResourceId();
+    setResourceId(size, block.getResourceId());
 
     int[] hash = block.getBlockHash().toIntArray();
     if (hash.length != hashInts) {
       throw new IllegalArgumentException("Expected " + hashInts + " ints in hash, but got " + hash.length);
     }
-    int offset = size * blockInts;
+    int[] blockData = page(size);
+    int offset = offset(size);
     for (int i = 0; i < hashInts; i++) {
       blockData[offset++] = hash[i];
     }
@@ -270,23 +320,19 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
   }
 
   /**
-   * Increases the capacity, if necessary.
+   * Allocates a new page, if necessary. Already allocated pages are never copied.
    */
   private void ensureCapacity() {
-    if (size < resourceIds.length) {
+    if (size < capacity) {
       return;
     }
-    int newCapacity = (resourceIds.length * 3) / 2 + 1;
-    // Increase size of resourceIds
-    String[] oldResourceIds = resourceIds;
-    resourceIds = new String[newCapacity];
-    System.arraycopy(oldResourceIds, 0, resourceIds, 0, oldResourceIds.length);
-    // Increase size of blockData
-    int[] oldBlockData = blockData;
-    blockData = new int[newCapacity * blockInts];
-    System.arraycopy(oldBlockData, 0, blockData, 0, oldBlockData.length);
-    // Increase size of byResourceIndices (no need to copy old, because would be restored in method ensureSorted)
-    resourceIdsIndex = new int[newCapacity];
+    int pages = blockDataPages.length;
+    int blocksPerPage = pageMask + 1;
+    resourceIdPages = Arrays.copyOf(resourceIdPages, pages + 1);
+    resourceIdPages[pages] = new String[blocksPerPage];
+    blockDataPages = Arrays.copyOf(blockDataPages, pages + 1);
+    blockDataPages[pages] = new int[blocksPerPage * blockInts];
+    capacity += blocksPerPage;
     sorted = false;
   }
 
@@ -301,22 +347,110 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
     ensureCapacity();
 
     DataUtils.sort(byBlockHash);
+    // no need to copy old content, because it is restored below
+    if (resourceIdsIndex.length < capacity) {
+      resourceIdsIndex = new int[capacity];
+    }
     for (int i = 0; i < size; i++) {
       resourceIdsIndex[i] = i;
     }
     DataUtils.sort(byResourceId);
+    buildHashTable();
 
     sorted = true;
   }
 
+  /**
+   * Blocks must be sorted by hash, so that blocks with the same hash are contiguous.
+   */
+  private void buildHashTable() {
+    int distinctHashes = 0;
+    for (int i = 0; i < size; i++) {
+      if (i == 0 || isLessByHash(i - 1, i)) {
+        distinctHashes++;
+      }
+    }
+    // load factor is at most 0.5
+    int tableSize = Integer.highestOneBit(Math.max(distinctHashes, 1)) << 2;
+    hashTable = new int[tableSize];
+    int mask = tableSize - 1;
+    for (int i = 0; i < size; i++) {
+      if (i == 0 || isLessByHash(i - 1, i)) {
+        int slot = hashCode(i) & mask;
+        while (hashTable[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        hashTable[slot] = i + 1;
+      }
+    }
+  }
+
+  private int hashCode(int index) {
+    int[] blockData = page(index);
+    int offset = offset(index);
+    int h = 0;
+    for (int k = 0; k < hashInts; k++) {
+      h = 31 * h + blockData[offset + k];
+    }
+    return mix(h);
+  }
+
+  private int hashCode(byte[] hash) {
+    int h = 0;
+    for (int k = 0; k < hashInts; k++) {
+      h = 31 * h + intAt(hash, k);
+    }
+    return mix(h);
+  }
+
+  private boolean hasHash(int index, byte[] hash) {
+    int[] blockData = page(index);
+    int offset = offset(index);
+    for (int k = 0; k < hashInts; k++) {
+      if (blockData[offset + k] != intAt(hash, k)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Same as {@code ByteArray#toIntArray()[k]}: big-endian, padded with zeros.
+   */
+  private static int intAt(byte[] bytes, int k) {
+    int result = 0;
+    for (int i = k * 4; i < k * 4 + 4; i++) {
+      result <<= 8;
+      if (i < bytes.length) {
+        result |= bytes[i] & 0xFF;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Spreads bits of hash, because low bits are used to select slot in {@link #hashTable}.
+   */
+  private static int mix(int hash) {
+    int h = hash;
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
   private boolean isLessByHash(int i, int j) {
-    int i2 = i * blockInts;
-    int j2 = j * blockInts;
+    int[] iData = page(i);
+    int[] jData = page(j);
+    int i2 = offset(i);
+    int j2 = offset(j);
     for (int k = 0; k < hashInts; k++, i2++, j2++) {
-      if (blockData[i2] < blockData[j2]) {
+      if (iData[i2] < jData[j2]) {
         return true;
       }
-      if (blockData[i2] > blockData[j2]) {
+      if (iData[i2] > jData[j2]) {
         return false;
       }
     }
@@ -326,16 +460,18 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
   private final DataUtils.Sortable byBlockHash = new DataUtils.Sortable() {
     @Override
     public void swap(int i, int j) {
-      String tmp = resourceIds[i];
-      resourceIds[i] = resourceIds[j];
-      resourceIds[j] = tmp;
-
-      i *= blockInts;
-      j *= blockInts;
-      for (int k = 0; k < blockInts; k++, i++, j++) {
-        int x = blockData[i];
-        blockData[i] = blockData[j];
-        blockData[j] = x;
+      String tmp = resourceId(i);
+      setResourceId(i, resourceId(j));
+      setResourceId(j, tmp);
+
+      int[] iData = page(i);
+      int[] jData = page(j);
+      int i2 = offset(i);
+      int j2 = offset(j);
+      for (int k = 0; k < blockInts; k++, i2++, j2++) {
+        int x = iData[i2];
+        iData[i2] = jData[j2];
+        jData[j2] = x;
       }
     }
 
@@ -360,8 +496,8 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
 
     @Override
     public boolean isLess(int i, int j) {
-      String s1 = resourceIds[resourceIdsIndex[i]];
-      String s2 = resourceIds[resourceIdsIndex[j]];
+      String s1 = resourceId(resourceIdsIndex[i]);
+      String s2 = resourceId(resourceIdsIndex[j]);
       return FastStringComparator.INSTANCE.compare(s1, s2) < 0;
     }
 
@@ -381,7 +517,7 @@ public class PackedMemoryCloneIndex extends AbstractCloneIndex {
     String lastResource = null;
 
     for (int i = 0; i < size; i++) {
-      String resource = resourceIds[resourceIdsIndex[i]];
+      String resource = resourceId(resourceIdsIndex[i]);
       if (resource != null && !resource.equals(lastResource)) {
         count++;
         lastResource = resource;
@@ -122,6 +122,30 @@ public class PackedMemoryCloneIndexTest {
     assertThat(index.getByResourceId("a").size(), is(2));
   }
 
+  /**
+   * Given: index with pages of 2 blocks, queried between insertions.
+   * Expected: blocks spread over several pages should be found by hash and by resource.
+   */
+  @Test
+  public void should_find_blocks_over_several_pages() {
+    CloneIndex index = new PackedMemoryCloneIndex(8, 2);
+    index.insert(newBlock("a", 1));
+    index.insert(newBlock("b", 2));
+    index.insert(newBlock("c", 1));
+    assertThat(index.getBySequenceHash(new ByteArray(1L)).size(), is(2));
+
+    index.insert(newBlock("a", 3));
+    index.insert(newBlock("d", 1));
+    index.insert(newBlock("b", 3));
+    assertThat(index.getBySequenceHash(new ByteArray(1L)).size(), is(3));
+    assertThat(index.getBySequenceHash(new ByteArray(2L)).size(), is(1));
+    assertThat(index.getBySequenceHash(new ByteArray(3L)).size(), is(2));
+    assertThat(index.getBySequenceHash(new ByteArray(4L)).size(), is(0));
+    assertThat(index.getByResourceId("a").size(), is(2));
+    assertThat(index.getByResourceId("b").size(), is(2));
+    assertThat(index.noResources(), is(4));
+  }
+
   /**
    * Given: index, which accepts blocks with 4-byte hash.
    * Expected: exception during insertion of block with 8-byte hash.
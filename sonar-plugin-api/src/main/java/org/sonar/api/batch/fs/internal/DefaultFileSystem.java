@@ -20,6 +20,7 @@
 package org.sonar.api.batch.fs.internal;
 
 import com.google.common.base.Function;
+import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import java.io.File;
 import java.io.IOException;
@@ -260,6 +261,20 @@ public class DefaultFileSystem implements FileSystem {
     @CheckForNull
     public abstract InputDir inputDir(String relativePath);
 
+    /**
+     * Files of the given language. Implementations are encouraged to override this method
+     * to use an index by language, instead of iterating over all files.
+     * @since 6.0
+     */
+    public Iterable<InputFile> inputFilesByLanguage(final String language) {
+      return Iterables.filter(inputFiles(), new Predicate<InputFile>() {
+        @Override
+        public boolean apply(InputFile input) {
+          return language.equals(input.language());
+        }
+      });
+    }
+
     protected abstract void doAdd(InputFile inputFile);
 
     protected abstract void doAdd(InputDir inputDir);
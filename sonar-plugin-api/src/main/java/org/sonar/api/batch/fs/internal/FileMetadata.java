@@ -19,8 +19,6 @@
  */
 package org.sonar.api.batch.fs.internal;
 
-import com.google.common.primitives.Ints;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -34,8 +32,7 @@ import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.apache.commons.codec.binary.Hex;
@@ -58,6 +55,7 @@ public class FileMetadata {
 
   private static final char LINE_FEED = '\n';
   private static final char CARRIAGE_RETURN = '\r';
+  private static final int READ_BUFFER_SIZE = 8192;
 
   public abstract static class CharHandler {
 
@@ -230,13 +228,10 @@ public class FileMetadata {
 
   private static class LineOffsetCounter extends CharHandler {
     private int currentOriginalOffset = 0;
-    private List<Integer> originalLineOffsets = new ArrayList<>();
+    private int[] originalLineOffsets = new int[64];
+    private int lines = 1;
     private int lastValidOffset = 0;
 
-    public LineOffsetCounter() {
-      originalLineOffsets.add(0);
-    }
-
     @Override
     protected void handleAll(char c) {
       currentOriginalOffset++;
@@ -244,7 +239,11 @@ public class FileMetadata {
 
     @Override
     protected void newLine() {
-      originalLineOffsets.add(currentOriginalOffset);
+      if (lines == originalLineOffsets.length) {
+        originalLineOffsets = Arrays.copyOf(originalLineOffsets, lines * 2);
+      }
+      originalLineOffsets[lines] = currentOriginalOffset;
+      lines++;
     }
 
     @Override
@@ -252,8 +251,8 @@ public class FileMetadata {
       lastValidOffset = currentOriginalOffset;
     }
 
-    public List<Integer> getOriginalLineOffsets() {
-      return originalLineOffsets;
+    public int[] getOriginalLineOffsets() {
+      return Arrays.copyOf(originalLineOffsets, lines);
     }
 
     public int getLastValidOffset() {
@@ -294,7 +293,7 @@ public class FileMetadata {
   public static void readFile(File file, Charset encoding, CharHandler... handlers) {
     try (BOMInputStream bomIn = new BOMInputStream(new FileInputStream(file),
       ByteOrderMark.UTF_8, ByteOrderMark.UTF_16LE, ByteOrderMark.UTF_16BE, ByteOrderMark.UTF_32LE, ByteOrderMark.UTF_32BE);
-      Reader reader = new BufferedReader(new InputStreamReader(bomIn, encoding))) {
+      Reader reader = new InputStreamReader(bomIn, encoding)) {
       read(reader, handlers);
     } catch (IOException e) {
       throw new IllegalStateException(String.format("Fail to read file '%s' with encoding '%s'", file.getAbsolutePath(), encoding), e);
@@ -302,50 +301,60 @@ public class FileMetadata {
   }
 
   private static void read(Reader reader, CharHandler... handlers) throws IOException {
-    char c;
-    int i = reader.read();
+    char[] buffer = new char[READ_BUFFER_SIZE];
     boolean afterCR = false;
-    while (i != -1) {
-      c = (char) i;
+    int read = reader.read(buffer);
+    while (read != -1) {
+      for (int idx = 0; idx < read; idx++) {
+        afterCR = handle(buffer[idx], afterCR, handlers);
+      }
+      read = reader.read(buffer);
+    }
+    for (CharHandler handler : handlers) {
       if (afterCR) {
-        for (CharHandler handler : handlers) {
-          if (c == CARRIAGE_RETURN) {
-            handler.newLine();
-            handler.handleAll(c);
-          } else if (c == LINE_FEED) {
-            handler.handleAll(c);
-            handler.newLine();
-          } else {
-            handler.newLine();
-            handler.handleIgnoreEoL(c);
-            handler.handleAll(c);
-          }
-        }
-        afterCR = c == CARRIAGE_RETURN;
-      } else if (c == LINE_FEED) {
-        for (CharHandler handler : handlers) {
-          handler.handleAll(c);
+        handler.newLine();
+      }
+      handler.eof();
+    }
+  }
+
+  /**
+   * @return whether the handled character is a carriage return which may be followed by a line feed
+   */
+  private static boolean handle(char c, boolean afterCR, CharHandler[] handlers) {
+    if (afterCR) {
+      for (CharHandler handler : handlers) {
+        if (c == CARRIAGE_RETURN) {
           handler.newLine();
-        }
-      } else if (c == CARRIAGE_RETURN) {
-        afterCR = true;
-        for (CharHandler handler : handlers) {
           handler.handleAll(c);
-        }
-      } else {
-        for (CharHandler handler : handlers) {
+        } else if (c == LINE_FEED) {
+          handler.handleAll(c);
+          handler.newLine();
+        } else {
+          handler.newLine();
           handler.handleIgnoreEoL(c);
           handler.handleAll(c);
         }
       }
-      i = reader.read();
+      return c == CARRIAGE_RETURN;
     }
-    for (CharHandler handler : handlers) {
-      if (afterCR) {
+    if (c == LINE_FEED) {
+      for (CharHandler handler : handlers) {
+        handler.handleAll(c);
         handler.newLine();
       }
-      handler.eof();
+    } else if (c == CARRIAGE_RETURN) {
+      for (CharHandler handler : handlers) {
+        handler.handleAll(c);
+      }
+      return true;
+    } else {
+      for (CharHandler handler : handlers) {
+        handler.handleIgnoreEoL(c);
+        handler.handleAll(c);
+      }
     }
+    return false;
   }
 
   public static class Metadata {
@@ -355,11 +364,11 @@ public class FileMetadata {
     final int[] originalLineOffsets;
     final int lastValidOffset;
 
-    private Metadata(int lines, int nonBlankLines, String hash, List<Integer> originalLineOffsets, int lastValidOffset) {
+    private Metadata(int lines, int nonBlankLines, String hash, int[] originalLineOffsets, int lastValidOffset) {
       this.lines = lines;
       this.nonBlankLines = nonBlankLines;
       this.hash = hash;
-      this.originalLineOffsets = Ints.toArray(originalLineOffsets);
+      this.originalLineOffsets = originalLineOffsets;
       this.lastValidOffset = lastValidOffset;
     }
   }
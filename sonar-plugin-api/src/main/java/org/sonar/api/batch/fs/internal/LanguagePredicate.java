@@ -19,6 +19,7 @@
  */
 package org.sonar.api.batch.fs.internal;
 
+import org.sonar.api.batch.fs.FileSystem.Index;
 import org.sonar.api.batch.fs.InputFile;
 
 /**
@@ -35,4 +36,20 @@ class LanguagePredicate extends AbstractFilePredicate {
   public boolean apply(InputFile f) {
     return language.equals(f.language());
   }
+
+  @Override
+  public Iterable<InputFile> get(Index index) {
+    if (index instanceof DefaultFileSystem.Cache) {
+      return ((DefaultFileSystem.Cache) index).inputFilesByLanguage(language);
+    }
+    return super.get(index);
+  }
+
+  /**
+   * Index by language is used, but it's less selective than predicates on a single path
+   */
+  @Override
+  public int priority() {
+    return USE_INDEX - 1;
+  }
 }
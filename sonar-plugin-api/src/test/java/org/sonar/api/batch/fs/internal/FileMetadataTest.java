@@ -25,6 +25,7 @@ import java.nio.charset.StandardCharsets;
 import javax.annotation.Nullable;
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -184,6 +185,20 @@ public class FileMetadataTest {
     assertThat(metadata.originalLineOffsets).containsOnly(0, 4, 5, 6);
   }
 
+  @Test
+  public void windows_eol_across_read_buffers() throws Exception {
+    File tempFile = temp.newFile();
+    String firstLine = StringUtils.repeat("a", 8191);
+    FileUtils.write(tempFile, firstLine + "\r\nbar\r\n", StandardCharsets.UTF_8, true);
+
+    FileMetadata.Metadata metadata = new FileMetadata().readMetadata(tempFile, StandardCharsets.UTF_8);
+    assertThat(metadata.lines).isEqualTo(3);
+    assertThat(metadata.nonBlankLines).isEqualTo(2);
+    assertThat(metadata.hash).isEqualTo(md5Hex(firstLine + "\nbar\n"));
+    assertThat(metadata.originalLineOffsets).containsOnly(0, 8193, 8198);
+    assertThat(metadata.lastValidOffset).isEqualTo(8198);
+  }
+
   @Test
   public void mix_of_newlines_without_latest_eol() throws Exception {
     File tempFile = temp.newFile();
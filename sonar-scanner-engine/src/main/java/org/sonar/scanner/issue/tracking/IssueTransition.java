@@ -62,9 +62,19 @@ public class IssueTransition {
 
   public void execute() {
     if (localIssueTracking != null) {
-      localIssueTracking.init();
+      localIssueTracking.init(componentCache.all());
     }
 
+    try {
+      trackAllComponents();
+    } finally {
+      if (localIssueTracking != null) {
+        localIssueTracking.stop();
+      }
+    }
+  }
+
+  private void trackAllComponents() {
     ScannerReportReader reader = new ScannerReportReader(reportPublisher.getReportDir());
     int nbComponents = componentCache.all().size();
 
@@ -53,6 +53,7 @@ public class LocalIssueTracking {
   private final DefaultAnalysisMode mode;
 
   private boolean hasServerAnalysis;
+  private PrefetchingServerLineHashesLoader prefetchedLineHashes;
 
   public LocalIssueTracking(Tracker<TrackedIssue, ServerIssueFromWs> tracker, ServerLineHashesLoader lastLineHashes,
     ActiveRules activeRules, ServerIssueRepository serverIssueRepository, ProjectRepositories projectRepositories, DefaultAnalysisMode mode) {
@@ -64,12 +65,40 @@ public class LocalIssueTracking {
     this.hasServerAnalysis = projectRepositories.lastAnalysisDate() != null;
   }
 
-  public void init() {
+  /**
+   * @param components the components to be tracked, in order of calls to {@link #trackIssues(BatchComponent, Collection, Date)}
+   */
+  public void init(Collection<BatchComponent> components) {
     if (hasServerAnalysis) {
+      // line hashes are loaded concurrently while server issues are being loaded
+      prefetchedLineHashes = new PrefetchingServerLineHashesLoader(lastLineHashes, changedFileKeys(components));
       serverIssueRepository.load();
     }
   }
 
+  public void stop() {
+    if (prefetchedLineHashes != null) {
+      prefetchedLineHashes.stop();
+      prefetchedLineHashes = null;
+    }
+  }
+
+  /**
+   * Reference line hashes are loaded from server only for changed files, see {@link SourceHashHolder}
+   */
+  private List<String> changedFileKeys(Collection<BatchComponent> components) {
+    List<String> fileKeys = new ArrayList<>();
+    for (BatchComponent component : components) {
+      if (component.isFile() && !shouldCopyServerIssues(component)) {
+        DefaultInputFile inputFile = (DefaultInputFile) component.inputComponent();
+        if (inputFile != null && inputFile.status() == Status.CHANGED) {
+          fileKeys.add(inputFile.key());
+        }
+      }
+    }
+    return fileKeys;
+  }
+
   public List<TrackedIssue> trackIssues(BatchComponent component, Collection<ScannerReport.Issue> reportIssues, Date analysisDate) {
     List<TrackedIssue> trackedIssues = new LinkedList<>();
     if (hasServerAnalysis) {
@@ -161,7 +190,7 @@ public class LocalIssueTracking {
       if (file == null) {
         throw new IllegalStateException("Resource " + component.resource() + " was not found in InputPath cache");
       }
-      sourceHashHolder = new SourceHashHolder(file, lastLineHashes);
+      sourceHashHolder = new SourceHashHolder(file, prefetchedLineHashes != null ? prefetchedLineHashes : lastLineHashes);
     }
     return sourceHashHolder;
   }
@@ -0,0 +1,111 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.scanner.issue.tracking;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads line hashes of files concurrently, in advance of the calls to {@link #getLineHashes(String)}.
+ * Files are expected to be requested in the same order as the keys given to the constructor. Only a bounded
+ * number of files are loaded ahead, so that hashes of all the files are not kept in memory.
+ * Not thread-safe: {@link #getLineHashes(String)} must be called by a single thread.
+ */
+class PrefetchingServerLineHashesLoader implements ServerLineHashesLoader {
+
+  private static final int THREADS = 4;
+  private static final int MAX_FILES_AHEAD = 20;
+
+  private final ServerLineHashesLoader delegate;
+  private final Set<String> queuedFileKeys;
+  private final Map<String, Future<String[]>> prefetched = new HashMap<>();
+  private final ExecutorService executor;
+
+  PrefetchingServerLineHashesLoader(ServerLineHashesLoader delegate, Collection<String> fileKeys) {
+    this.delegate = delegate;
+    this.queuedFileKeys = new LinkedHashSet<>(fileKeys);
+    this.executor = Executors.newFixedThreadPool(THREADS, new ThreadFactoryBuilder().setNameFormat("ServerLineHashesLoader-%d").setDaemon(true).build());
+    prefetch();
+  }
+
+  @Override
+  public String[] getLineHashes(String fileKey) {
+    Future<String[]> future = prefetched.remove(fileKey);
+    String[] lineHashes;
+    if (future == null) {
+      // not requested in the expected order
+      queuedFileKeys.remove(fileKey);
+      lineHashes = delegate.getLineHashes(fileKey);
+    } else {
+      lineHashes = waitFor(future);
+    }
+    prefetch();
+    return lineHashes;
+  }
+
+  /**
+   * Cancels the loading of files that have not been requested yet.
+   */
+  void stop() {
+    queuedFileKeys.clear();
+    prefetched.clear();
+    executor.shutdownNow();
+  }
+
+  private void prefetch() {
+    Iterator<String> it = queuedFileKeys.iterator();
+    while (prefetched.size() < MAX_FILES_AHEAD && it.hasNext()) {
+      final String fileKey = it.next();
+      it.remove();
+      prefetched.put(fileKey, executor.submit(new Callable<String[]>() {
+        @Override
+        public String[] call() {
+          return delegate.getLineHashes(fileKey);
+        }
+      }));
+    }
+    if (queuedFileKeys.isEmpty()) {
+      // already submitted tasks are still executed
+      executor.shutdown();
+    }
+  }
+
+  private static String[] waitFor(Future<String[]> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      // Unwrap ExecutionException
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading line hashes", e);
+    }
+  }
+}
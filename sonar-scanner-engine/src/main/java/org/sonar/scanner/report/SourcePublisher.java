@@ -20,22 +20,26 @@
 package org.sonar.scanner.report;
 
 import org.apache.commons.io.ByteOrderMark;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.BOMInputStream;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
 import org.sonar.scanner.index.BatchComponent;
 import org.sonar.scanner.index.BatchComponentCache;
 import org.sonar.scanner.protocol.output.ScannerReportWriter;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 
 public class SourcePublisher implements ReportPublisherStep {
 
+  private static final int BUFFER_SIZE = 64 * 1024;
+
   private final BatchComponentCache resourceCache;
 
   public SourcePublisher(BatchComponentCache resourceCache) {
@@ -52,15 +56,16 @@ public class SourcePublisher implements ReportPublisherStep {
       DefaultInputFile inputFile = (DefaultInputFile) resource.inputComponent();
       File iofile = writer.getSourceFile(resource.batchId());
       int line = 0;
-      try (FileOutputStream output = new FileOutputStream(iofile); BOMInputStream bomIn = new BOMInputStream(new FileInputStream(inputFile.file()),
-        ByteOrderMark.UTF_8, ByteOrderMark.UTF_16LE, ByteOrderMark.UTF_16BE, ByteOrderMark.UTF_32LE, ByteOrderMark.UTF_32BE);
-        BufferedReader reader = new BufferedReader(new InputStreamReader(bomIn, inputFile.charset()))) {
+      try (Writer output = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(iofile), StandardCharsets.UTF_8), BUFFER_SIZE);
+        BOMInputStream bomIn = new BOMInputStream(new FileInputStream(inputFile.file()),
+          ByteOrderMark.UTF_8, ByteOrderMark.UTF_16LE, ByteOrderMark.UTF_16BE, ByteOrderMark.UTF_32LE, ByteOrderMark.UTF_32BE);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(bomIn, inputFile.charset()), BUFFER_SIZE)) {
         String lineStr = reader.readLine();
         while (lineStr != null) {
-          IOUtils.write(lineStr, output, StandardCharsets.UTF_8);
+          output.write(lineStr);
           line++;
           if (line < inputFile.lines()) {
-            IOUtils.write("\n", output, StandardCharsets.UTF_8);
+            output.write('\n');
           }
           lineStr = reader.readLine();
         }
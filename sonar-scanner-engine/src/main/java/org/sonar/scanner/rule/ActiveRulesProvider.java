@@ -19,12 +19,12 @@
  */
 package org.sonar.scanner.rule;
 
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import org.picocontainer.injectors.ProviderAdapter;
 import org.sonar.api.batch.rule.ActiveRules;
 import org.sonar.api.batch.rule.internal.ActiveRulesBuilder;
@@ -33,6 +33,7 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
 import org.sonar.api.utils.log.Profiler;
+import org.sonar.core.util.ConcurrentTasks;
 
 /**
  * Loads the rules that are activated on the Quality profiles
@@ -41,6 +42,7 @@ import org.sonar.api.utils.log.Profiler;
 public class ActiveRulesProvider extends ProviderAdapter {
   private static final Logger LOG = Loggers.get(ActiveRulesProvider.class);
   private static final String LOG_MSG = "Load active rules";
+  private static final int MAX_CONCURRENT_PROFILES = 4;
   private ActiveRules singleton = null;
 
   public ActiveRules provide(ActiveRulesLoader loader, ModuleQProfiles qProfiles) {
@@ -53,28 +55,28 @@ public class ActiveRulesProvider extends ProviderAdapter {
   }
 
   private static ActiveRules load(ActiveRulesLoader loader, ModuleQProfiles qProfiles) {
-
-    Collection<String> qProfileKeys = getKeys(qProfiles);
     Map<RuleKey, LoadedActiveRule> loadedRulesByKey = new HashMap<>();
 
-    try {
-      for (String qProfileKey : qProfileKeys) {
-        Collection<LoadedActiveRule> qProfileRules;
-        qProfileRules = load(loader, qProfileKey);
-
-        for (LoadedActiveRule r : qProfileRules) {
-          if (!loadedRulesByKey.containsKey(r.getRuleKey())) {
-            loadedRulesByKey.put(r.getRuleKey(), r);
-          }
+    // profiles are loaded concurrently, but merged in the same order as they are declared
+    for (List<LoadedActiveRule> qProfileRules : loadAll(loader, getKeys(qProfiles))) {
+      for (LoadedActiveRule r : qProfileRules) {
+        if (!loadedRulesByKey.containsKey(r.getRuleKey())) {
+          loadedRulesByKey.put(r.getRuleKey(), r);
         }
       }
-    } catch (IOException e) {
-      throw new IllegalStateException("Error loading active rules", e);
     }
 
     return transform(loadedRulesByKey.values());
   }
 
+  private static List<List<LoadedActiveRule>> loadAll(ActiveRulesLoader loader, Collection<String> qProfileKeys) {
+    List<Callable<List<LoadedActiveRule>>> tasks = new ArrayList<>(qProfileKeys.size());
+    for (String qProfileKey : qProfileKeys) {
+      tasks.add(() -> loader.load(qProfileKey));
+    }
+    return ConcurrentTasks.executeAll("ActiveRulesProvider-%d", MAX_CONCURRENT_PROFILES, tasks);
+  }
+
   private static ActiveRules transform(Collection<LoadedActiveRule> loadedRules) {
     ActiveRulesBuilder builder = new ActiveRulesBuilder();
 
@@ -98,10 +100,6 @@ public class ActiveRulesProvider extends ProviderAdapter {
     return builder.build();
   }
 
-  private static List<LoadedActiveRule> load(ActiveRulesLoader loader, String qProfileKey) throws IOException {
-    return loader.load(qProfileKey);
-  }
-
   private static Collection<String> getKeys(ModuleQProfiles qProfiles) {
     List<String> keys = new ArrayList<>(qProfiles.findAll().size());
 
@@ -21,13 +21,17 @@ package org.sonar.scanner.rule;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
 
 import org.apache.commons.io.IOUtils;
 import org.sonar.api.rule.RuleKey;
+import org.sonar.core.util.ConcurrentTasks;
 import org.sonar.scanner.bootstrap.BatchWsClient;
 import org.sonar.scanner.util.BatchUtils;
 import org.sonarqube.ws.Rules.Active;
@@ -40,7 +44,21 @@ import org.sonarqube.ws.Rules.SearchResponse;
 public class DefaultActiveRulesLoader implements ActiveRulesLoader {
   private static final String RULES_SEARCH_URL = "/api/rules/search.protobuf?f=repo,name,severity,lang,internalKey,templateKey,params,actives&activation=true";
 
+  private static final int PAGE_SIZE = 500;
+
+  /**
+   * Maximum number of pages requested at the same time, once the first page gave the total number of rules.
+   */
+  private static final int MAX_CONCURRENT_PAGES = 4;
+
+  /**
+   * Maximum number of requests executed at the same time, whatever the number of quality profiles
+   * loaded concurrently by {@link ActiveRulesProvider}.
+   */
+  static final int MAX_CONCURRENT_REQUESTS = 4;
+
   private final BatchWsClient wsClient;
+  private final Semaphore concurrentRequests = new Semaphore(MAX_CONCURRENT_REQUESTS);
 
   public DefaultActiveRulesLoader(BatchWsClient wsClient) {
     this.wsClient = wsClient;
@@ -48,24 +66,46 @@ public class DefaultActiveRulesLoader implements ActiveRulesLoader {
 
   @Override
   public List<LoadedActiveRule> load(String qualityProfileKey) {
-    List<LoadedActiveRule> ruleList = new LinkedList<>();
-    int page = 1;
-    int pageSize = 500;
-    int loaded = 0;
-
-    while (true) {
-      GetRequest getRequest = new GetRequest(getUrl(qualityProfileKey, page, pageSize));
-      SearchResponse response = loadFromStream(wsClient.call(getRequest).contentStream());
-      List<LoadedActiveRule> pageRules = readPage(response);
-      ruleList.addAll(pageRules);
-      loaded += response.getPs();
-
-      if (response.getTotal() <= loaded) {
-        break;
-      }
-      page++;
+    SearchResponse firstPage = loadPage(qualityProfileKey, 1);
+    List<LoadedActiveRule> ruleList = new ArrayList<>((int) firstPage.getTotal());
+    ruleList.addAll(readPage(firstPage));
+
+    long pageSize = firstPage.getPs();
+    if (pageSize > 0 && firstPage.getTotal() > pageSize) {
+      int pages = (int) ((firstPage.getTotal() + pageSize - 1) / pageSize);
+      ruleList.addAll(loadPages(qualityProfileKey, 2, pages));
     }
+    return ruleList;
+  }
 
+  private SearchResponse loadPage(String qualityProfileKey, int page) {
+    GetRequest getRequest = new GetRequest(getUrl(qualityProfileKey, page, PAGE_SIZE));
+    try {
+      concurrentRequests.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading active rules", e);
+    }
+    try {
+      return loadFromStream(wsClient.call(getRequest).contentStream());
+    } finally {
+      concurrentRequests.release();
+    }
+  }
+
+  /**
+   * Loads pages {@code fromPage} to {@code toPage} concurrently. Rules are returned in order of pages.
+   */
+  private List<LoadedActiveRule> loadPages(String qualityProfileKey, int fromPage, int toPage) {
+    List<Callable<SearchResponse>> tasks = new ArrayList<>();
+    for (int page = fromPage; page <= toPage; page++) {
+      int requestedPage = page;
+      tasks.add(() -> loadPage(qualityProfileKey, requestedPage));
+    }
+    List<LoadedActiveRule> ruleList = new ArrayList<>();
+    for (SearchResponse response : ConcurrentTasks.executeAll("ActiveRulesLoader-%d", MAX_CONCURRENT_PAGES, tasks)) {
+      ruleList.addAll(readPage(response));
+    }
     return ruleList;
   }
 
@@ -21,11 +21,15 @@ package org.sonar.scanner.scan.filesystem;
 
 import com.google.common.collect.Table;
 import com.google.common.collect.TreeBasedTable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import org.sonar.api.batch.ScannerSide;
 import org.sonar.api.batch.fs.InputDir;
 import org.sonar.api.batch.fs.InputFile;
 
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 
 /**
  * Cache of all files and dirs. This cache is shared amongst all project modules. Inclusion and
@@ -36,6 +40,10 @@ public class InputPathCache {
 
   private final Table<String, String, InputFile> inputFileCache = TreeBasedTable.create();
   private final Table<String, String, InputDir> inputDirCache = TreeBasedTable.create();
+  /**
+   * Files by module, then by language and relative path
+   */
+  private final Map<String, Table<String, String, InputFile>> inputFileByLanguageCache = new HashMap<>();
 
   public Iterable<InputFile> allFiles() {
     return inputFileCache.values();
@@ -49,18 +57,28 @@ public class InputPathCache {
     return inputFileCache.row(moduleKey).values();
   }
 
+  public Iterable<InputFile> filesByModuleAndLanguage(String moduleKey, String language) {
+    Table<String, String, InputFile> filesByLanguage = inputFileByLanguageCache.get(moduleKey);
+    if (filesByLanguage == null) {
+      return Collections.emptyList();
+    }
+    return filesByLanguage.row(language).values();
+  }
+
   public Iterable<InputDir> dirsByModule(String moduleKey) {
     return inputDirCache.row(moduleKey).values();
   }
 
   public InputPathCache removeModule(String moduleKey) {
     inputFileCache.row(moduleKey).clear();
+    inputFileByLanguageCache.remove(moduleKey);
     inputDirCache.row(moduleKey).clear();
     return this;
   }
 
   public InputPathCache remove(String moduleKey, InputFile inputFile) {
-    inputFileCache.remove(moduleKey, inputFile.relativePath());
+    InputFile removed = inputFileCache.remove(moduleKey, inputFile.relativePath());
+    removeFromLanguageIndex(moduleKey, removed);
     return this;
   }
 
@@ -70,10 +88,27 @@ public class InputPathCache {
   }
 
   public InputPathCache put(String moduleKey, InputFile inputFile) {
-    inputFileCache.put(moduleKey, inputFile.relativePath(), inputFile);
+    InputFile replaced = inputFileCache.put(moduleKey, inputFile.relativePath(), inputFile);
+    removeFromLanguageIndex(moduleKey, replaced);
+    String language = inputFile.language();
+    if (language != null) {
+      Table<String, String, InputFile> filesByLanguage = inputFileByLanguageCache.get(moduleKey);
+      if (filesByLanguage == null) {
+        filesByLanguage = TreeBasedTable.create();
+        inputFileByLanguageCache.put(moduleKey, filesByLanguage);
+      }
+      filesByLanguage.put(language, inputFile.relativePath(), inputFile);
+    }
     return this;
   }
 
+  private void removeFromLanguageIndex(String moduleKey, @Nullable InputFile inputFile) {
+    Table<String, String, InputFile> filesByLanguage = inputFileByLanguageCache.get(moduleKey);
+    if (inputFile != null && inputFile.language() != null && filesByLanguage != null) {
+      filesByLanguage.remove(inputFile.language(), inputFile.relativePath());
+    }
+  }
+
   public InputPathCache put(String moduleKey, InputDir inputDir) {
     inputDirCache.put(moduleKey, inputDir.relativePath(), inputDir);
     return this;
@@ -41,6 +41,11 @@ public class ModuleInputFileCache extends DefaultFileSystem.Cache {
     return inputPathCache.filesByModule(moduleKey);
   }
 
+  @Override
+  public Iterable<InputFile> inputFilesByLanguage(String language) {
+    return inputPathCache.filesByModuleAndLanguage(moduleKey, language);
+  }
+
   @Override
   public InputFile inputFile(String relativePath) {
     return inputPathCache.getFile(moduleKey, relativePath);
@@ -0,0 +1,76 @@
+/*
+ * SonarQube
+ * Copyright (C) 2009-2016 SonarSource SA
+ * mailto:contact AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.scanner.issue.tracking;
+
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PrefetchingServerLineHashesLoaderTest {
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  private ServerLineHashesLoader delegate = mock(ServerLineHashesLoader.class);
+
+  @Test
+  public void load_files_in_advance() {
+    when(delegate.getLineHashes("A")).thenReturn(new String[] {"a1", "a2"});
+    when(delegate.getLineHashes("B")).thenReturn(new String[] {"b1"});
+
+    PrefetchingServerLineHashesLoader underTest = new PrefetchingServerLineHashesLoader(delegate, Arrays.asList("A", "B"));
+    verify(delegate, timeout(5000)).getLineHashes("A");
+    verify(delegate, timeout(5000)).getLineHashes("B");
+
+    assertThat(underTest.getLineHashes("A")).containsExactly("a1", "a2");
+    assertThat(underTest.getLineHashes("B")).containsExactly("b1");
+    verify(delegate, times(1)).getLineHashes("A");
+    verify(delegate, times(1)).getLineHashes("B");
+  }
+
+  @Test
+  public void load_file_not_declared_in_advance() {
+    when(delegate.getLineHashes("C")).thenReturn(new String[] {"c1"});
+
+    PrefetchingServerLineHashesLoader underTest = new PrefetchingServerLineHashesLoader(delegate, Arrays.asList("A"));
+
+    assertThat(underTest.getLineHashes("C")).containsExactly("c1");
+    underTest.stop();
+  }
+
+  @Test
+  public void propagate_failure_of_loading() {
+    when(delegate.getLineHashes("A")).thenThrow(new IllegalStateException("Fail to load"));
+
+    PrefetchingServerLineHashesLoader underTest = new PrefetchingServerLineHashesLoader(delegate, Arrays.asList("A"));
+
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Fail to load");
+    underTest.getLineHashes("A");
+  }
+}
@@ -36,6 +36,7 @@ import org.sonar.scanner.rule.ModuleQProfiles;
 import org.sonarqube.ws.QualityProfiles.SearchWsResponse.QualityProfile;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -81,6 +82,19 @@ public class ActiveRulesProviderTest {
     verifyNoMoreInteractions(loader);
   }
 
+  @Test
+  public void fail_if_a_profile_can_not_be_loaded() {
+    when(loader.load(eq("qp1"))).thenReturn(ImmutableList.of(mockRule("rule1")));
+    when(loader.load(eq("qp2"))).thenThrow(new IllegalStateException("Failed to load quality profiles"));
+
+    try {
+      provider.provide(loader, mockProfiles("qp1", "qp2"));
+      fail();
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("Failed to load quality profiles");
+    }
+  }
+
   private static ModuleQProfiles mockProfiles(String... keys) {
     List<QualityProfile> profiles = new LinkedList<>();
 
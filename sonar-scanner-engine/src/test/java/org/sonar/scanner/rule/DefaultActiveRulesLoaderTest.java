@@ -27,13 +27,26 @@ import org.sonar.scanner.rule.LoadedActiveRule;
 import com.google.common.io.Resources;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.sonar.core.util.ConcurrentTasks;
+import org.sonarqube.ws.Rules.SearchResponse;
+import org.sonarqube.ws.client.WsRequest;
+import org.sonarqube.ws.client.WsResponse;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 import org.junit.Before;
 
 public class DefaultActiveRulesLoaderTest {
@@ -66,6 +79,31 @@ public class DefaultActiveRulesLoaderTest {
     verifyNoMoreInteractions(wsClient);
   }
 
+  @Test
+  public void limit_concurrent_requests_when_profiles_are_loaded_concurrently() {
+    AtomicInteger runningRequests = new AtomicInteger();
+    AtomicInteger maxRunningRequests = new AtomicInteger();
+    byte[] page = SearchResponse.newBuilder().setTotal(2_000).setPs(500).build().toByteArray();
+    WsResponse response = mock(WsResponse.class);
+    when(response.contentStream()).thenAnswer(invocation -> new ByteArrayInputStream(page));
+    when(wsClient.call(any(WsRequest.class))).thenAnswer(invocation -> {
+      maxRunningRequests.accumulateAndGet(runningRequests.incrementAndGet(), Math::max);
+      Thread.sleep(20L);
+      runningRequests.decrementAndGet();
+      return response;
+    });
+
+    List<Callable<List<LoadedActiveRule>>> tasks = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      String qProfileKey = "qp" + i;
+      tasks.add(() -> loader.load(qProfileKey));
+    }
+    ConcurrentTasks.executeAll("test-%d", 4, tasks);
+
+    verify(wsClient, times(16)).call(any(WsRequest.class));
+    assertThat(maxRunningRequests.get()).isLessThanOrEqualTo(DefaultActiveRulesLoader.MAX_CONCURRENT_REQUESTS);
+  }
+
   private static void assertActiveRule(Collection<LoadedActiveRule> activeRules) {
     RuleKey key = RuleKey.of("squid", "S3008");
     for (LoadedActiveRule r : activeRules) {
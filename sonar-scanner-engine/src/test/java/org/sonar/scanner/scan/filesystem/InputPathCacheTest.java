@@ -79,4 +79,31 @@ public class InputPathCacheTest {
     assertThat(cache.allFiles()).hasSize(1);
   }
 
+  @Test
+  public void should_index_input_files_by_language() {
+    InputPathCache cache = new InputPathCache();
+    DefaultInputFile fooFile = new DefaultInputFile("foo", "src/Foo.java").setLanguage("java");
+    cache.put("struts", fooFile);
+    cache.put("struts", new DefaultInputFile("foo", "src/Bar.java").setLanguage("java"));
+    cache.put("struts", new DefaultInputFile("foo", "src/Baz.php").setLanguage("php"));
+    cache.put("struts", new DefaultInputFile("foo", "src/README"));
+    cache.put("struts-core", new DefaultInputFile("foo", "src/Qux.java").setLanguage("java"));
+
+    assertThat(cache.filesByModuleAndLanguage("struts", "java")).extracting("relativePath").containsExactly("src/Bar.java", "src/Foo.java");
+    assertThat(cache.filesByModuleAndLanguage("struts", "php")).extracting("relativePath").containsExactly("src/Baz.php");
+    assertThat(cache.filesByModuleAndLanguage("struts", "cobol")).isEmpty();
+    assertThat(cache.filesByModuleAndLanguage("unknown", "java")).isEmpty();
+
+    // replaced by a file of another language
+    cache.put("struts", new DefaultInputFile("foo", "src/Bar.java").setLanguage("php"));
+    assertThat(cache.filesByModuleAndLanguage("struts", "java")).extracting("relativePath").containsExactly("src/Foo.java");
+
+    cache.remove("struts", fooFile);
+    assertThat(cache.filesByModuleAndLanguage("struts", "java")).isEmpty();
+
+    cache.removeModule("struts");
+    assertThat(cache.filesByModuleAndLanguage("struts", "php")).isEmpty();
+    assertThat(cache.filesByModuleAndLanguage("struts-core", "java")).hasSize(1);
+  }
+
 }